@@ -0,0 +1,21 @@
+package com.mazzy.mcuniversal.benchmark;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+/**
+ * Brings up the vanilla registries once per benchmark fork, so block states can be created
+ * without a running server.
+ */
+public final class BenchmarkBootstrap {
+    private static boolean done;
+
+    private BenchmarkBootstrap() {}
+
+    public static synchronized void init() {
+        if (done) return;
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        done = true;
+    }
+}
@@ -0,0 +1,56 @@
+package com.mazzy.mcuniversal.benchmark;
+
+import com.mazzy.mcuniversal.config.teleport.TeleportConstants;
+import com.mazzy.mcuniversal.core.teleport.TeleportPositionHelper;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.world.level.ChunkPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Target chunk selection against a visited index of growing size, and area grid construction.
+ */
+@State(Scope.Benchmark)
+public class CandidateBenchmark {
+    // Share of the teleport range already visited
+    @Param({"0", "0.5", "0.95"})
+    public double visitedShare;
+
+    @Param({"2", "3"})
+    public int gridRadius;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final LongSet visited = new LongOpenHashSet();
+
+    @Setup
+    public void setup() {
+        // TeleportConstants holds a ChunkStatus, which needs the registries
+        BenchmarkBootstrap.init();
+        int range = TeleportConstants.TELEPORT_RANGE / 16;
+        SplittableRandom fill = new SplittableRandom(7);
+        for (int x = -range; x <= range; x++) {
+            for (int z = -range; z <= range; z++) {
+                if (fill.nextDouble() < visitedShare) {
+                    visited.add(ChunkPos.asLong(x, z));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public ChunkPos generateNewChunk() {
+        return TeleportPositionHelper.generateNewChunk(random, packed -> !visited.contains(packed), packed -> true);
+    }
+
+    @Benchmark
+    public List<ChunkPos> generateChunkGrid() {
+        return TeleportPositionHelper.generateChunkGrid(new ChunkPos(100, -100), gridRadius);
+    }
+}
@@ -0,0 +1,58 @@
+package com.mazzy.mcuniversal.benchmark;
+
+import com.mazzy.mcuniversal.data.NationsSavedData;
+import net.minecraft.core.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Nation membership lookup as done for every chat message.
+ */
+@State(Scope.Benchmark)
+public class NationLookupBenchmark {
+    private static final int MEMBERS_PER_NATION = 25;
+
+    @Param({"10", "1000", "50000"})
+    public int members;
+
+    private NationsSavedData data;
+    private UUID lastMember;
+    private UUID stranger;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        data = new NationsSavedData();
+
+        List<UUID> nationMembers = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            lastMember = new UUID(random.nextLong(), random.nextLong());
+            nationMembers.add(lastMember);
+            if (nationMembers.size() == MEMBERS_PER_NATION || i == members - 1) {
+                data.createNation("nation" + i, BlockPos.ZERO, nationMembers);
+                nationMembers.clear();
+            }
+        }
+        stranger = new UUID(random.nextLong(), random.nextLong());
+    }
+
+    /** Member of the last nation created */
+    @Benchmark
+    public NationsSavedData.NationEntry memberHit() {
+        return data.getNationByMember(lastMember);
+    }
+
+    /** Player without a nation, which has to look everywhere */
+    @Benchmark
+    public NationsSavedData.NationEntry memberMiss() {
+        return data.getNationByMember(stranger);
+    }
+}
@@ -0,0 +1,42 @@
+package com.mazzy.mcuniversal.benchmark;
+
+import com.mazzy.mcuniversal.core.teleport.ChunkSnapshot;
+import com.mazzy.mcuniversal.core.teleport.SyntheticTerrain;
+import com.mazzy.mcuniversal.core.teleport.TeleportPositionHelper;
+import com.mazzy.mcuniversal.core.teleport.TerrainView;
+import net.minecraft.core.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Safe position scan over a single chunk of synthetic terrain, either read through a
+ * snapshot as the teleport pipeline does or straight from the synthetic view.
+ */
+@State(Scope.Benchmark)
+public class PositionScanBenchmark {
+    @Param({"flat", "ocean", "caves", "nether"})
+    public String terrain;
+
+    @Param({"snapshot", "synthetic"})
+    public String view;
+
+    @Param({"false", "true"})
+    public boolean harsh;
+
+    private TerrainView chunk;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.init();
+        SyntheticTerrain synthetic = SyntheticTerrain.byName(terrain);
+        chunk = view.equals("snapshot") ? ChunkSnapshot.copyOf(synthetic) : synthetic;
+    }
+
+    @Benchmark
+    public BlockPos findValidPosition() {
+        return TeleportPositionHelper.findValidPosition(chunk, chunk.getMaxBuildHeight(), harsh);
+    }
+}
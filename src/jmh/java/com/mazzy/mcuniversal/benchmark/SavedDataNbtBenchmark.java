@@ -0,0 +1,133 @@
+package com.mazzy.mcuniversal.benchmark;
+
+import com.mazzy.mcuniversal.data.ExtraSpawnsSavedData;
+import com.mazzy.mcuniversal.data.NationsSavedData;
+import com.mazzy.mcuniversal.data.VisitedChunksSavedData;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * NBT save and load of each SavedData, in memory and through the binary NBT codec.
+ */
+@State(Scope.Benchmark)
+public class SavedDataNbtBenchmark {
+    private static final int MEMBERS_PER_NATION = 25;
+
+    // Players in nations, spawn points and visited chunks alike
+    @Param({"1000", "50000"})
+    public int entries;
+
+    private NationsSavedData nations;
+    private ExtraSpawnsSavedData spawns;
+    private VisitedChunksSavedData visited;
+
+    private CompoundTag nationsTag;
+    private CompoundTag spawnsTag;
+    private CompoundTag visitedTag;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+
+        nations = new NationsSavedData();
+        List<UUID> members = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            members.add(new UUID(random.nextLong(), random.nextLong()));
+            if (members.size() == MEMBERS_PER_NATION || i == entries - 1) {
+                nations.createNation("nation" + i, new BlockPos(i, 70, -i), members);
+                members.clear();
+            }
+        }
+
+        spawns = new ExtraSpawnsSavedData();
+        for (int i = 0; i < entries; i++) {
+            spawns.addSpawn(new BlockPos(random.nextInt(20000) - 10000, 60 + random.nextInt(40), random.nextInt(20000) - 10000));
+        }
+
+        visited = new VisitedChunksSavedData();
+        for (int i = 0; i < entries; i++) {
+            long chunk = random.nextLong();
+            if (i % 4 == 0) {
+                visited.markFailed(chunk);
+            } else {
+                visited.markUsed(chunk);
+            }
+        }
+
+        nationsTag = nations.save(new CompoundTag());
+        spawnsTag = spawns.save(new CompoundTag());
+        visitedTag = visited.save(new CompoundTag());
+    }
+
+    @Benchmark
+    public CompoundTag saveNations() {
+        return nations.save(new CompoundTag());
+    }
+
+    @Benchmark
+    public NationsSavedData loadNations() {
+        return NationsSavedData.load(nationsTag);
+    }
+
+    @Benchmark
+    public CompoundTag saveSpawns() {
+        return spawns.save(new CompoundTag());
+    }
+
+    @Benchmark
+    public ExtraSpawnsSavedData loadSpawns() {
+        return ExtraSpawnsSavedData.load(spawnsTag);
+    }
+
+    @Benchmark
+    public CompoundTag saveVisited() {
+        return visited.save(new CompoundTag());
+    }
+
+    @Benchmark
+    public VisitedChunksSavedData loadVisited() {
+        return VisitedChunksSavedData.load(visitedTag);
+    }
+
+    /** Full round trip through the binary format, as a world save and reload would do */
+    @Benchmark
+    public NationsSavedData roundTripNations() throws IOException {
+        return NationsSavedData.load(roundTrip(nations.save(new CompoundTag())));
+    }
+
+    @Benchmark
+    public ExtraSpawnsSavedData roundTripSpawns() throws IOException {
+        return ExtraSpawnsSavedData.load(roundTrip(spawns.save(new CompoundTag())));
+    }
+
+    @Benchmark
+    public VisitedChunksSavedData roundTripVisited() throws IOException {
+        return VisitedChunksSavedData.load(roundTrip(visited.save(new CompoundTag())));
+    }
+
+    private static CompoundTag roundTrip(CompoundTag tag) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            NbtIo.write(tag, out);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return NbtIo.read(in);
+        }
+    }
+}
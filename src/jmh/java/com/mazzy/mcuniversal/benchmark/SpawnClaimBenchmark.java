@@ -0,0 +1,51 @@
+package com.mazzy.mcuniversal.benchmark;
+
+import com.mazzy.mcuniversal.data.ExtraSpawnsSavedData;
+import com.mazzy.mcuniversal.data.SpawnAssignmentPolicy;
+import net.minecraft.core.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Spawn claiming from a large pool with a growing share of it already used, per assignment policy.
+ */
+@State(Scope.Benchmark)
+public class SpawnClaimBenchmark {
+    @Param({"1000", "100000"})
+    public int poolSize;
+
+    @Param({"0", "0.5", "0.99"})
+    public double usedShare;
+
+    @Param({"SEQUENTIAL", "SPREAD", "NEAR_CAPITAL"})
+    public SpawnAssignmentPolicy policy;
+
+    private static final BlockPos CAPITAL = new BlockPos(8000, 70, 800);
+
+    private ExtraSpawnsSavedData data;
+
+    @Setup
+    public void setup() {
+        data = new ExtraSpawnsSavedData();
+        int used = (int) (poolSize * usedShare);
+        for (int i = 0; i < poolSize; i++) {
+            data.addSpawn(new BlockPos(i * 16, 70, (i % 100) * 16));
+        }
+        for (int i = 0; i < used; i++) {
+            data.claimFreeSpawn(policy, CAPITAL);
+        }
+    }
+
+    /** Claims the next spawn and hands it back, so every invocation sees the same pool */
+    @Benchmark
+    public ExtraSpawnsSavedData.SpawnEntry claimFreeSpawn() {
+        ExtraSpawnsSavedData.SpawnEntry entry = data.claimFreeSpawn(policy, CAPITAL);
+        if (entry != null) {
+            data.releaseSpawn(entry.index);
+        }
+        return entry;
+    }
+}
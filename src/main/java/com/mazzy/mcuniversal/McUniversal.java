@@ -1,10 +1,13 @@
 package com.mazzy.mcuniversal;
 
+import com.mazzy.mcuniversal.config.McUniversalConfig;
 import com.mazzy.mcuniversal.network.NetworkHandler;
 import com.mazzy.mcuniversal.registration.RegistryHandler;
 import com.mazzy.mcuniversal.event.ChatMessageHandler;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.fml.ModLoadingContext;
+import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
 import org.slf4j.Logger;
@@ -21,6 +24,8 @@ public class McUniversal {
 
         RegistryHandler.ITEMS.register(modEventBus);
 
+        ModLoadingContext.get().registerConfig(ModConfig.Type.COMMON, McUniversalConfig.SPEC);
+
         MinecraftForge.EVENT_BUS.register(this);
 
         NetworkHandler.register();
@@ -0,0 +1,115 @@
+package com.mazzy.mcuniversal.config;
+
+import com.mazzy.mcuniversal.data.SpawnAssignmentPolicy;
+import net.minecraftforge.common.ForgeConfigSpec;
+
+import java.util.List;
+
+/**
+ * Server-tunable settings for the mod, stored in mcuniversal-common.toml.
+ * Fixed gameplay values stay in {@link com.mazzy.mcuniversal.config.teleport.TeleportConstants}.
+ */
+public class McUniversalConfig {
+    public static final ForgeConfigSpec SPEC;
+
+    // Teleport
+    public static final ForgeConfigSpec.BooleanValue TELEPORT_STAGED_EVALUATION;
+    public static final ForgeConfigSpec.IntValue TELEPORT_MAX_CONCURRENT_PER_DIMENSION;
+    public static final ForgeConfigSpec.IntValue TELEPORT_MAX_QUEUE_WAIT;
+    public static final ForgeConfigSpec.IntValue TELEPORT_EFFECT_INTERVAL;
+    public static final ForgeConfigSpec.BooleanValue TELEPORT_DROP_EFFECTS_OVER_BUDGET;
+    public static final ForgeConfigSpec.BooleanValue TELEPORT_CLIENT_HUD;
+
+    // Work governor
+    public static final ForgeConfigSpec.IntValue GOVERNOR_TOKENS_PER_TICK;
+    public static final ForgeConfigSpec.IntValue GOVERNOR_BURST_TICKS;
+    public static final ForgeConfigSpec.DoubleValue GOVERNOR_TARGET_MSPT;
+
+    // Metrics
+    public static final ForgeConfigSpec.IntValue METRICS_LOG_INTERVAL_MINUTES;
+
+    // Extra dimension spawns
+    public static final ForgeConfigSpec.EnumValue<SpawnAssignmentPolicy> SPAWN_ASSIGNMENT_POLICY;
+    public static final ForgeConfigSpec.IntValue SPAWN_GENERATOR_MAX_IN_FLIGHT;
+    public static final ForgeConfigSpec.IntValue SPAWN_PREWARM_COUNT;
+
+    // Landing pool
+    public static final ForgeConfigSpec.IntValue LANDING_POOL_SIZE;
+    public static final ForgeConfigSpec.IntValue LANDING_POOL_REFILL_INTERVAL;
+    public static final ForgeConfigSpec.DoubleValue LANDING_POOL_MAX_MSPT;
+    public static final ForgeConfigSpec.ConfigValue<List<? extends String>> LANDING_POOL_TARGETS;
+
+    static {
+        ForgeConfigSpec.Builder builder = new ForgeConfigSpec.Builder();
+
+        builder.comment("Random teleport pipeline").push("teleport");
+        TELEPORT_STAGED_EVALUATION = builder
+                .comment("Generate candidate chunks only up to surface status for the safety scan, and finish generating only the accepted one")
+                .define("stagedEvaluation", true);
+        TELEPORT_MAX_CONCURRENT_PER_DIMENSION = builder
+                .comment("Teleports allowed to search and load terrain at once in each dimension; further requests wait in line")
+                .defineInRange("maxConcurrentPerDimension", 4, 1, 256);
+        TELEPORT_MAX_QUEUE_WAIT = builder
+                .comment("Seconds a request may wait in line for a free slot before it is cancelled")
+                .defineInRange("maxQueueWaitSeconds", 120, 10, 3600);
+        TELEPORT_EFFECT_INTERVAL = builder
+                .comment("Ticks between warmup particle bursts, 0 disables the particles")
+                .defineInRange("effectIntervalTicks", 4, 0, 100);
+        TELEPORT_DROP_EFFECTS_OVER_BUDGET = builder
+                .comment("Skip particles and boss bar progress updates while the work governor has no spare budget")
+                .define("dropEffectsOverBudget", true);
+        TELEPORT_CLIENT_HUD = builder
+                .comment("Show teleport progress on a client-rendered HUD for players with the mod installed; others keep the boss bar")
+                .define("useClientHud", true);
+        builder.pop();
+
+        builder.comment("Shared per-tick work budget for teleports, spawns and effects").push("governor");
+        GOVERNOR_TOKENS_PER_TICK = builder
+                .comment("Work tokens added each tick while the server is healthy; a chunk request costs 1, a position scan 4")
+                .defineInRange("tokensPerTick", 32, 1, 4096);
+        GOVERNOR_BURST_TICKS = builder
+                .comment("How many ticks of unused tokens may be saved up for bursts")
+                .defineInRange("burstTicks", 2, 1, 100);
+        GOVERNOR_TARGET_MSPT = builder
+                .comment("Average tick time in milliseconds at which the refill drops to its minimum")
+                .defineInRange("targetMspt", 45.0, 5.0, 1000.0);
+        builder.pop();
+
+        builder.comment("Teleport pipeline metrics, also shown by /mcuniversal stats").push("metrics");
+        METRICS_LOG_INTERVAL_MINUTES = builder
+                .comment("Minutes between teleport summary lines in the server log, 0 disables them")
+                .defineInRange("logIntervalMinutes", 30, 0, 1440);
+        builder.pop();
+
+        builder.comment("Spawn points handed to new players in the extra dimension").push("spawns");
+        SPAWN_ASSIGNMENT_POLICY = builder
+                .comment("SEQUENTIAL takes spawns in the order they were added, SPREAD rotates through 256 block regions,",
+                        "NEAR_CAPITAL picks the free spawn closest to the player's nation capital and spreads players without a nation")
+                .defineEnum("assignmentPolicy", SpawnAssignmentPolicy.SPREAD);
+        SPAWN_GENERATOR_MAX_IN_FLIGHT = builder
+                .comment("Candidate chunks /extra_generate_spawns loads and scans at once; each also needs background work budget")
+                .defineInRange("generatorMaxInFlight", 2, 1, 64);
+        SPAWN_PREWARM_COUNT = builder
+                .comment("Free spawns whose chunks are kept loaded ahead of the next first logins, 0 disables pre-warming")
+                .defineInRange("prewarmCount", 8, 0, 256);
+        builder.pop();
+
+        builder.comment("Pre-scouted safe landing positions used by random teleports").push("landingPool");
+        LANDING_POOL_SIZE = builder
+                .comment("Upper bound on pooled positions per dimension, applied on top of the per-dimension targets")
+                .defineInRange("maxSize", 32, 0, 1024);
+        LANDING_POOL_REFILL_INTERVAL = builder
+                .comment("Ticks between scout attempts; each attempt scouts at most one chunk")
+                .defineInRange("refillIntervalTicks", 20, 1, 12000);
+        LANDING_POOL_MAX_MSPT = builder
+                .comment("Scouting is paused while the average tick time is above this many milliseconds")
+                .defineInRange("maxMspt", 30.0, 1.0, 1000.0);
+        LANDING_POOL_TARGETS = builder
+                .comment("Pool target per dimension, as \"<dimension id>=<positions>\"")
+                .defineList("targets", List.of("minecraft:overworld=8", "mcuniversal:extra=8"),
+                        entry -> entry instanceof String s && s.indexOf('=') > 0);
+        builder.pop();
+
+        SPEC = builder.build();
+    }
+}
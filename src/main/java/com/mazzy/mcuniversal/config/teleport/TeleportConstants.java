@@ -3,6 +3,7 @@ package com.mazzy.mcuniversal.config.teleport;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.ChunkStatus;
 import net.minecraft.core.registries.Registries;
 
 public class TeleportConstants {
@@ -16,6 +17,9 @@ public class TeleportConstants {
     public static final int HARSH_SCAN_STEP = 1;
     public static final int MAX_RETRIES = 3;
     public static final int MAX_HARSH_RETRIES = 5;
+    public static final int PREFILTER_MAX_CANDIDATES = 16;
+    public static final int PREFILTER_MAX_SURFACE_SPREAD = 12;
+    public static final ChunkStatus STAGED_CANDIDATE_STATUS = ChunkStatus.SURFACE;
 
     public static final ResourceLocation EARTH_DIM_LOCATION = new ResourceLocation("mcuniversal", "extra");
     public static final ResourceKey<Level> EARTH_DIM_KEY =
@@ -0,0 +1,77 @@
+package com.mazzy.mcuniversal.core.client;
+
+import com.mazzy.mcuniversal.McUniversal;
+import com.mazzy.mcuniversal.network.TeleportHudPacket;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.client.event.RegisterGuiOverlaysEvent;
+import net.minecraftforge.client.gui.overlay.IGuiOverlay;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * Client-rendered teleport progress, drawn where the boss bar would be.
+ * State is set from {@link TeleportHudPacket} and cleared on logout.
+ */
+@OnlyIn(Dist.CLIENT)
+@Mod.EventBusSubscriber(modid = McUniversal.MODID, bus = Mod.EventBusSubscriber.Bus.MOD, value = Dist.CLIENT)
+public class TeleportHudOverlay {
+    // Same footprint as the vanilla boss bar
+    private static final int BAR_WIDTH = 182;
+    private static final int BAR_HEIGHT = 5;
+    private static final int BAR_TOP = 24;
+    private static final int BACKGROUND_COLOR = 0xFF1E1E3C;
+    private static final int FILL_COLOR = 0xFF3C8CFF;
+    private static final int TEXT_COLOR = 0xFFFFFF;
+
+    private static TeleportHudPacket.Phase phase = TeleportHudPacket.Phase.HIDDEN;
+    private static int progress;
+    private static int value;
+
+    private static final IGuiOverlay OVERLAY = (gui, graphics, partialTick, width, height) -> render(graphics, width);
+
+    @SubscribeEvent
+    public static void onRegisterGuiOverlays(RegisterGuiOverlaysEvent event) {
+        event.registerAboveAll("teleport_hud", OVERLAY);
+    }
+
+    /** Applies a progress update received from the server */
+    public static void update(TeleportHudPacket.Phase newPhase, int newProgress, int newValue) {
+        phase = newPhase;
+        progress = newProgress;
+        value = newValue;
+    }
+
+    /** Game bus events for the overlay */
+    @Mod.EventBusSubscriber(modid = McUniversal.MODID, value = Dist.CLIENT)
+    public static class ForgeEvents {
+        @SubscribeEvent
+        public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+            phase = TeleportHudPacket.Phase.HIDDEN;
+        }
+    }
+
+    private static void render(GuiGraphics graphics, int screenWidth) {
+        if (phase == TeleportHudPacket.Phase.HIDDEN || Minecraft.getInstance().options.hideGui) return;
+
+        int left = (screenWidth - BAR_WIDTH) / 2;
+        int filled = BAR_WIDTH * Math.min(progress, TeleportHudPacket.PROGRESS_SCALE) / TeleportHudPacket.PROGRESS_SCALE;
+        graphics.fill(left, BAR_TOP, left + BAR_WIDTH, BAR_TOP + BAR_HEIGHT, BACKGROUND_COLOR);
+        graphics.fill(left, BAR_TOP, left + filled, BAR_TOP + BAR_HEIGHT, FILL_COLOR);
+
+        graphics.drawCenteredString(Minecraft.getInstance().font, getLabel(), screenWidth / 2, BAR_TOP - 10, TEXT_COLOR);
+    }
+
+    private static String getLabel() {
+        return switch (phase) {
+            case QUEUED -> "Queued for teleport (#" + value + ")";
+            case INITIALIZING -> "Initializing teleport";
+            case SCANNING -> "Scanning for safe position...";
+            case PREPARING -> value > 0 ? "Preparing area | Warping in " + value + "s" : "Preparing area...";
+            case HIDDEN -> "";
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.mazzy.mcuniversal.core.command;
 
+import com.mazzy.mcuniversal.config.McUniversalConfig;
 import com.mazzy.mcuniversal.data.ExtraSpawnsSavedData;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import net.minecraft.commands.CommandSourceStack;
@@ -12,6 +13,8 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.Level;
 
+import java.util.List;
+
 /**
  * Command for checking available spawn points in custom dimension
  * Requires OP level 2 to prevent abuse
@@ -51,10 +54,13 @@ public class CheckExtraSpawnCommand {
 
                     // Retrieve and display spawn data
                     ExtraSpawnsSavedData data = ExtraSpawnsSavedData.get(extraDimension);
-                    var spawnEntry = data.peekFreeSpawn();
-                    if (spawnEntry == null) {
+                    // Ask the configured policy, so the answer matches what the next claim hands out
+                    List<ExtraSpawnsSavedData.SpawnEntry> next =
+                            data.peekFreeSpawns(McUniversalConfig.SPAWN_ASSIGNMENT_POLICY.get(), 1);
+                    if (next.isEmpty()) {
                         source.sendSuccess(() -> Component.literal("No free spawn found."), false);
                     } else {
+                        var spawnEntry = next.get(0);
                         String coords = spawnEntry.x + " " + spawnEntry.y + " " + spawnEntry.z;
                         source.sendSuccess(() -> Component.literal("Next free spawn is at: " + coords), false);
                     }
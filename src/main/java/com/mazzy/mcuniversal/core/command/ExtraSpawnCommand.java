@@ -33,7 +33,10 @@ public class ExtraSpawnCommand {
                             ExtraSpawnsSavedData data = ExtraSpawnsSavedData.get(level);
 
                             // Store new spawn point
-                            data.addSpawn(pos);
+                            if (!data.addSpawn(pos)) {
+                                source.sendFailure(Component.literal("Spawn point " + pos + " is already in the pool"));
+                                return 0;
+                            }
 
                             // Confirm creation to operator
                             source.sendSuccess(
@@ -0,0 +1,123 @@
+package com.mazzy.mcuniversal.core.command;
+
+import com.mazzy.mcuniversal.config.teleport.TeleportConstants;
+import com.mazzy.mcuniversal.core.teleport.SpawnPoolGenerator;
+import com.mazzy.mcuniversal.data.ExtraSpawnsSavedData;
+import com.mazzy.mcuniversal.data.SpawnGenerationSavedData;
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.coordinates.ColumnPosArgument;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ColumnPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * Command for administrators to fill the extra dimension's spawn pool with validated positions
+ * Usage: /extra_generate_spawns <count> <center> <radius> [spacing] | status | cancel
+ */
+public class GenerateSpawnsCommand {
+    // Default distance between candidate chunks, so spawns are not next to each other
+    private static final int DEFAULT_SPACING_CHUNKS = 4;
+    // Keeps the candidate count within an int
+    private static final int MAX_RADIUS_BLOCKS = 100_000;
+
+    /**
+     * Registers command with server
+     * @return Configured command structure
+     */
+    public static LiteralArgumentBuilder<CommandSourceStack> register() {
+        return Commands.literal("extra_generate_spawns")
+                .requires(src -> src.hasPermission(2)) // Restricted to server operators
+                .then(Commands.literal("status")
+                        .executes(ctx -> showStatus(ctx.getSource())))
+                .then(Commands.literal("cancel")
+                        .executes(ctx -> cancel(ctx.getSource())))
+                .then(Commands.argument("count", IntegerArgumentType.integer(1, 100_000))
+                        .then(Commands.argument("center", ColumnPosArgument.columnPos())
+                                .then(Commands.argument("radius", IntegerArgumentType.integer(16, MAX_RADIUS_BLOCKS))
+                                        .executes(ctx -> start(ctx, DEFAULT_SPACING_CHUNKS))
+                                        .then(Commands.argument("spacing", IntegerArgumentType.integer(1, 64))
+                                                .executes(ctx -> start(ctx, IntegerArgumentType.getInteger(ctx, "spacing")))))));
+    }
+
+    /**
+     * Starts a generation job, replacing any unfinished one
+     * @param spacingChunks Distance between candidate chunks
+     * @return Command success
+     */
+    private static int start(CommandContext<CommandSourceStack> ctx, int spacingChunks) {
+        CommandSourceStack source = ctx.getSource();
+        ServerLevel level = getExtraDimension(source);
+        if (level == null) return 0;
+
+        int count = IntegerArgumentType.getInteger(ctx, "count");
+        ColumnPos center = ColumnPosArgument.getColumnPos(ctx, "center");
+        int radiusChunks = IntegerArgumentType.getInteger(ctx, "radius") >> 4;
+
+        SpawnPoolGenerator.start(level, count, new ChunkPos(center.x() >> 4, center.z() >> 4), radiusChunks, spacingChunks);
+        int candidates = SpawnGenerationSavedData.get(level).getCandidateCount();
+
+        source.sendSuccess(() -> Component.literal(
+                "Generating " + count + " spawns around " + center.x() + " " + center.z() +
+                        " from " + candidates + " candidate chunks"
+        ), true);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    /**
+     * Prints the progress of the current or last job
+     * @param source Command executor
+     * @return Command success
+     */
+    private static int showStatus(CommandSourceStack source) {
+        ServerLevel level = getExtraDimension(source);
+        if (level == null) return 0;
+
+        SpawnGenerationSavedData progress = SpawnGenerationSavedData.get(level);
+        ExtraSpawnsSavedData spawns = ExtraSpawnsSavedData.get(level);
+        String summary = String.format(
+                "Spawn generation %s: %d/%d spawns | %d rejected | %d/%d candidates | %d in flight | pool %d free of %d",
+                progress.isActive() ? "running" : "idle",
+                progress.getGenerated(),
+                progress.getTarget(),
+                progress.getRejected(),
+                progress.getCandidatesTried(),
+                progress.getCandidateCount(),
+                SpawnPoolGenerator.getInFlight(),
+                spawns.getFreeCount(),
+                spawns.getSpawnCount()
+        );
+        source.sendSuccess(() -> Component.literal(summary), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    /**
+     * Stops the running job; spawns already added stay in the pool
+     * @param source Command executor
+     * @return Command success
+     */
+    private static int cancel(CommandSourceStack source) {
+        ServerLevel level = getExtraDimension(source);
+        if (level == null) return 0;
+
+        if (!SpawnPoolGenerator.cancel(level)) {
+            source.sendFailure(Component.literal("No spawn generation is running."));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("Spawn generation cancelled."), true);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static ServerLevel getExtraDimension(CommandSourceStack source) {
+        ServerLevel level = source.getServer().getLevel(TeleportConstants.EARTH_DIM_KEY);
+        if (level == null) {
+            source.sendFailure(Component.literal("Extra dimension not found."));
+        }
+        return level;
+    }
+}
@@ -0,0 +1,118 @@
+package com.mazzy.mcuniversal.core.command;
+
+import com.mazzy.mcuniversal.core.governor.WorkGovernor;
+import com.mazzy.mcuniversal.core.governor.WorkPriority;
+import com.mazzy.mcuniversal.core.metrics.LatencyHistogram;
+import com.mazzy.mcuniversal.core.metrics.TeleportMetrics;
+import com.mazzy.mcuniversal.core.teleport.TeleportTask;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+import java.util.List;
+
+/**
+ * Operator diagnostics for the mod's internal subsystems
+ * Requires OP level 2
+ */
+public class McUniversalCommand {
+
+    /**
+     * Registers the command with server
+     * @return Configured command literal
+     */
+    public static LiteralArgumentBuilder<CommandSourceStack> register() {
+        return Commands.literal("mcuniversal")
+                .requires(src -> src.hasPermission(2)) // Restrict to server operators
+                .then(Commands.literal("governor")
+                        .executes(ctx -> showGovernor(ctx.getSource())))
+                .then(Commands.literal("stats")
+                        .executes(ctx -> showStats(ctx.getSource()))
+                        .then(Commands.literal("reset")
+                                .executes(ctx -> resetStats(ctx.getSource()))));
+    }
+
+    /**
+     * Prints the work governor's budget and per-priority grant counts
+     * @param source Command executor
+     * @return Command success
+     */
+    private static int showGovernor(CommandSourceStack source) {
+        String summary = String.format(
+                "Work governor: %.1f/%.0f tokens | refill %.1f/tick | utilization %.0f%% | avg tick %.1f ms",
+                WorkGovernor.getTokens(),
+                WorkGovernor.getCapacity(),
+                WorkGovernor.getLastRefill(),
+                WorkGovernor.getUtilization() * 100,
+                WorkGovernor.getAverageMspt()
+        );
+        source.sendSuccess(() -> Component.literal(summary), false);
+
+        for (WorkPriority priority : WorkPriority.values()) {
+            String line = String.format(
+                    "  %s: %d granted, %d denied",
+                    priority.name(),
+                    WorkGovernor.getGranted(priority),
+                    WorkGovernor.getDenied(priority)
+            );
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+        return 1;
+    }
+
+    /**
+     * Prints teleport pipeline counters and phase latencies per dimension
+     * @param source Command executor
+     * @return Command success
+     */
+    private static int showStats(CommandSourceStack source) {
+        List<ResourceKey<Level>> dimensions = TeleportMetrics.getDimensions();
+        if (dimensions.isEmpty()) {
+            source.sendSuccess(() -> Component.literal("No teleports recorded yet."), false);
+            return 1;
+        }
+
+        for (ResourceKey<Level> dimension : dimensions) {
+            TeleportMetrics.DimensionStats stats = TeleportMetrics.get(dimension);
+            String summary = TeleportMetrics.summarize(dimension);
+            source.sendSuccess(() -> Component.literal(summary), false);
+
+            String extra = String.format(
+                    "  pooled %d | chunk loads %d, wait p50 %.0f ms, p99 %.0f ms | queue wait p99 %.0f ms",
+                    stats.pooledHits.sum(),
+                    stats.chunkRequests.sum(),
+                    stats.chunkWait.getPercentileMillis(50),
+                    stats.chunkWait.getPercentileMillis(99),
+                    stats.queueWait.getPercentileMillis(99)
+            );
+            source.sendSuccess(() -> Component.literal(extra), false);
+
+            for (TeleportTask.Phase phase : TeleportTask.Phase.values()) {
+                LatencyHistogram histogram = stats.phases.get(phase);
+                if (histogram.getCount() == 0) continue;
+
+                String line = String.format(
+                        "  %s: n=%d mean %.1f ms | p50 %.1f | p90 %.1f | p99 %.1f | max %.1f",
+                        phase.name(),
+                        histogram.getCount(),
+                        histogram.getMeanMillis(),
+                        histogram.getPercentileMillis(50),
+                        histogram.getPercentileMillis(90),
+                        histogram.getPercentileMillis(99),
+                        histogram.getMaxMillis()
+                );
+                source.sendSuccess(() -> Component.literal(line), false);
+            }
+        }
+        return 1;
+    }
+
+    private static int resetStats(CommandSourceStack source) {
+        TeleportMetrics.reset();
+        source.sendSuccess(() -> Component.literal("Teleport stats reset."), true);
+        return 1;
+    }
+}
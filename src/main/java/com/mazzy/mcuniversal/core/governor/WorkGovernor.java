@@ -0,0 +1,149 @@
+package com.mazzy.mcuniversal.core.governor;
+
+import com.mazzy.mcuniversal.McUniversal;
+import com.mazzy.mcuniversal.config.McUniversalConfig;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Arrays;
+
+/**
+ * Global per-tick work budget shared by every mod subsystem.
+ * A token bucket is refilled at the start of each tick, scaled down as the measured tick
+ * time approaches the configured target, and work draws tokens by {@link WorkPriority}.
+ * Critical work is always granted and may run the bucket into debt, which later ticks repay.
+ * Only used from the server thread.
+ */
+@Mod.EventBusSubscriber(modid = McUniversal.MODID)
+public class WorkGovernor {
+    // Token costs of the mod's units of work
+    public static final int COST_CHUNK_REQUEST = 1;
+    public static final int COST_SCAN = 4;
+    public static final int COST_PREFILTER = 1;
+    public static final int COST_TELEPORT = 2;
+    public static final int COST_SPAWN_ASSIGNMENT = 2;
+    public static final int COST_EFFECT = 1;
+
+    // Weight of the newest tick in the tick time average
+    private static final double MSPT_SMOOTHING = 0.2;
+    // Refill never drops below this share of the configured budget, so player work keeps moving
+    private static final double MIN_REFILL_SCALE = 0.1;
+
+    private static final int PRIORITIES = WorkPriority.values().length;
+
+    private static double tokens;
+    private static double lastRefill;
+    private static double spentThisTick;
+    private static double lastUtilization;
+    private static double averageMspt;
+    private static long tickStartNanos;
+
+    private static final long[] GRANTED = new long[PRIORITIES];
+    private static final long[] DENIED = new long[PRIORITIES];
+
+    /**
+     * Draws tokens for a unit of work.
+     * @param priority Priority class of the work
+     * @param cost Tokens the work costs
+     * @return True if the work may run this tick
+     */
+    public static boolean tryAcquire(WorkPriority priority, int cost) {
+        double floor = getCapacity() * priority.getReserve();
+        if (priority != WorkPriority.CRITICAL && tokens - cost < floor) {
+            DENIED[priority.ordinal()]++;
+            return false;
+        }
+        tokens -= cost;
+        spentThisTick += cost;
+        GRANTED[priority.ordinal()]++;
+        return true;
+    }
+
+    /**
+     * Draws tokens for up to the requested number of operations.
+     * @return Number of operations granted, between 0 and requested
+     */
+    public static int acquireUpTo(WorkPriority priority, int requested, int costEach) {
+        int granted = 0;
+        while (granted < requested && tryAcquire(priority, costEach)) {
+            granted++;
+        }
+        return granted;
+    }
+
+    /** @return True if the priority could currently draw the given cost, without drawing it */
+    public static boolean hasBudget(WorkPriority priority, int cost) {
+        return priority == WorkPriority.CRITICAL || tokens - cost >= getCapacity() * priority.getReserve();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            tickStartNanos = System.nanoTime();
+            refill();
+        } else if (tickStartNanos != 0) {
+            double mspt = (System.nanoTime() - tickStartNanos) / 1_000_000.0;
+            averageMspt = averageMspt == 0 ? mspt : averageMspt + (mspt - averageMspt) * MSPT_SMOOTHING;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        tokens = 0;
+        averageMspt = 0;
+        tickStartNanos = 0;
+        Arrays.fill(GRANTED, 0);
+        Arrays.fill(DENIED, 0);
+    }
+
+    private static void refill() {
+        lastUtilization = lastRefill > 0 ? spentThisTick / lastRefill : 0;
+        spentThisTick = 0;
+
+        lastRefill = McUniversalConfig.GOVERNOR_TOKENS_PER_TICK.get() * getRefillScale();
+        tokens = Math.min(getCapacity(), tokens + lastRefill);
+    }
+
+    /**
+     * Full refill while the tick time is under 60% of the target, shrinking linearly
+     * to {@link #MIN_REFILL_SCALE} once the target is reached.
+     */
+    private static double getRefillScale() {
+        double target = McUniversalConfig.GOVERNOR_TARGET_MSPT.get();
+        double relaxed = target * 0.6;
+        if (averageMspt <= relaxed) return 1.0;
+        if (averageMspt >= target) return MIN_REFILL_SCALE;
+        return 1.0 - (1.0 - MIN_REFILL_SCALE) * (averageMspt - relaxed) / (target - relaxed);
+    }
+
+    public static double getCapacity() {
+        return McUniversalConfig.GOVERNOR_TOKENS_PER_TICK.get() * McUniversalConfig.GOVERNOR_BURST_TICKS.get();
+    }
+
+    public static double getTokens() {
+        return tokens;
+    }
+
+    public static double getLastRefill() {
+        return lastRefill;
+    }
+
+    /** @return Share of the last tick's refill that was spent, above 1 when critical work ran into debt */
+    public static double getUtilization() {
+        return lastUtilization;
+    }
+
+    public static double getAverageMspt() {
+        return averageMspt;
+    }
+
+    public static long getGranted(WorkPriority priority) {
+        return GRANTED[priority.ordinal()];
+    }
+
+    public static long getDenied(WorkPriority priority) {
+        return DENIED[priority.ordinal()];
+    }
+}
@@ -0,0 +1,25 @@
+package com.mazzy.mcuniversal.core.governor;
+
+/**
+ * Priority classes for work drawn from the {@link WorkGovernor} budget.
+ * Each class may only draw while at least its reserve share of the bucket is left,
+ * so lower priorities are shed first as the server slows down. Player work has no reserve
+ * and keeps drawing until the bucket is empty; only critical work may go into debt.
+ */
+public enum WorkPriority {
+    CRITICAL(0.0),   // Player-facing completions: warmup teleports, spawn assignment
+    PLAYER(0.0),     // Work an active player is waiting on: scans, chunk loads
+    BACKGROUND(0.5), // Work nobody is waiting on yet: landing scout, pool generation
+    COSMETIC(0.75);  // Particles and progress display
+
+    private final double reserve;
+
+    WorkPriority(double reserve) {
+        this.reserve = reserve;
+    }
+
+    /** @return Fraction of the bucket that must remain after drawing */
+    public double getReserve() {
+        return reserve;
+    }
+}
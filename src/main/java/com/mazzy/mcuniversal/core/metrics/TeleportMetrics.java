@@ -0,0 +1,164 @@
+package com.mazzy.mcuniversal.core.metrics;
+
+import com.mazzy.mcuniversal.McUniversal;
+import com.mazzy.mcuniversal.config.McUniversalConfig;
+import com.mazzy.mcuniversal.core.teleport.TeleportTask;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for the random teleport pipeline, kept per dimension.
+ * Recording only touches LongAdders and atomic arrays, so it is cheap enough to leave on
+ * and safe from chunk callbacks and scan workers alike.
+ * Reported by /mcuniversal stats and, if configured, a periodic log line.
+ */
+@Mod.EventBusSubscriber(modid = McUniversal.MODID)
+public class TeleportMetrics {
+    private static final Map<ResourceKey<Level>, DimensionStats> STATS = new ConcurrentHashMap<>();
+
+    private static long ticksSinceLog;
+
+    /** How a teleport task ended */
+    public enum Outcome { COMPLETED, FAILED, TIMED_OUT, CANCELLED }
+
+    /** Metrics of a single dimension */
+    public static class DimensionStats {
+        public final LongAdder started = new LongAdder();
+        public final LongAdder retries = new LongAdder();
+        public final LongAdder harshScans = new LongAdder();
+        public final LongAdder pooledHits = new LongAdder();
+        // Every chunk load of the mod, including scouting, prewarming and pool generation
+        public final LongAdder chunkRequests = new LongAdder();
+        // Chunk loads requested by teleport tasks only, the basis of chunks per warp
+        public final LongAdder taskChunkRequests = new LongAdder();
+        public final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+        public final Map<TeleportTask.Phase, LatencyHistogram> phases = new EnumMap<>(TeleportTask.Phase.class);
+        public final LatencyHistogram queueWait = new LatencyHistogram();
+        public final LatencyHistogram chunkWait = new LatencyHistogram();
+        public final LatencyHistogram total = new LatencyHistogram();
+
+        DimensionStats() {
+            for (Outcome outcome : Outcome.values()) {
+                outcomes.put(outcome, new LongAdder());
+            }
+            for (TeleportTask.Phase phase : TeleportTask.Phase.values()) {
+                phases.put(phase, new LatencyHistogram());
+            }
+        }
+
+        public long getOutcomeCount(Outcome outcome) {
+            return outcomes.get(outcome).sum();
+        }
+
+        private void reset() {
+            started.reset();
+            retries.reset();
+            harshScans.reset();
+            pooledHits.reset();
+            chunkRequests.reset();
+            taskChunkRequests.reset();
+            outcomes.values().forEach(LongAdder::reset);
+            phases.values().forEach(LatencyHistogram::reset);
+            queueWait.reset();
+            chunkWait.reset();
+            total.reset();
+        }
+    }
+
+    public static DimensionStats get(ResourceKey<Level> dimension) {
+        return STATS.computeIfAbsent(dimension, key -> new DimensionStats());
+    }
+
+    /** @return Dimensions with recorded metrics, in no particular order */
+    public static List<ResourceKey<Level>> getDimensions() {
+        return new ArrayList<>(STATS.keySet());
+    }
+
+    public static void recordStart(ResourceKey<Level> dimension, long queueWaitNanos, boolean pooled) {
+        DimensionStats stats = get(dimension);
+        stats.started.increment();
+        stats.queueWait.recordNanos(queueWaitNanos);
+        if (pooled) {
+            stats.pooledHits.increment();
+        }
+    }
+
+    public static void recordPhase(ResourceKey<Level> dimension, TeleportTask.Phase phase, long nanos) {
+        get(dimension).phases.get(phase).recordNanos(nanos);
+    }
+
+    public static void recordRetry(ResourceKey<Level> dimension) {
+        get(dimension).retries.increment();
+    }
+
+    /** Records a task switching to harsh scanning, once per task */
+    public static void recordHarshScan(ResourceKey<Level> dimension) {
+        get(dimension).harshScans.increment();
+    }
+
+    public static void recordChunkRequest(ResourceKey<Level> dimension, long waitNanos) {
+        DimensionStats stats = get(dimension);
+        stats.chunkRequests.increment();
+        stats.chunkWait.recordNanos(waitNanos);
+    }
+
+    public static void recordTaskChunkRequest(ResourceKey<Level> dimension) {
+        get(dimension).taskChunkRequests.increment();
+    }
+
+    public static void recordOutcome(ResourceKey<Level> dimension, Outcome outcome, long totalNanos) {
+        DimensionStats stats = get(dimension);
+        stats.outcomes.get(outcome).increment();
+        stats.total.recordNanos(totalNanos);
+    }
+
+    public static void reset() {
+        STATS.values().forEach(DimensionStats::reset);
+    }
+
+    /** @return One line summary of a dimension, as used in the periodic log */
+    public static String summarize(ResourceKey<Level> dimension) {
+        DimensionStats stats = get(dimension);
+        long completed = stats.getOutcomeCount(Outcome.COMPLETED);
+        return String.format(
+                "%s: %d started, %d completed, %d failed, %d timed out, %d cancelled | %d retries, %d harsh | " +
+                        "%.1f chunks/warp | total p50 %.0f ms, p99 %.0f ms",
+                dimension.location(),
+                stats.started.sum(),
+                completed,
+                stats.getOutcomeCount(Outcome.FAILED),
+                stats.getOutcomeCount(Outcome.TIMED_OUT),
+                stats.getOutcomeCount(Outcome.CANCELLED),
+                stats.retries.sum(),
+                stats.harshScans.sum(),
+                completed == 0 ? 0.0 : stats.taskChunkRequests.sum() / (double) completed,
+                stats.total.getPercentileMillis(50),
+                stats.total.getPercentileMillis(99)
+        );
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        int intervalMinutes = McUniversalConfig.METRICS_LOG_INTERVAL_MINUTES.get();
+        if (intervalMinutes <= 0 || ++ticksSinceLog < intervalMinutes * 1200L) return;
+        ticksSinceLog = 0;
+
+        for (ResourceKey<Level> dimension : getDimensions()) {
+            if (get(dimension).started.sum() > 0) {
+                McUniversal.LOGGER.info("Teleport stats {}", summarize(dimension));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import com.mazzy.mcuniversal.config.teleport.TeleportConstants;
+import net.minecraft.core.Holder;
+import net.minecraft.core.QuartPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BiomeTags;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.levelgen.RandomState;
+
+/**
+ * Rejects obviously unsafe teleport candidates from the dimension's generator alone,
+ * before any chunk is loaded or generated. Biome and surface height are sampled from the
+ * noise, which is far cheaper than running worldgen and scanning the result.
+ */
+public class CandidatePreFilter {
+    // Local block offsets sampled per chunk: centre first, then the corners of the scan area
+    private static final int[][] HEIGHT_SAMPLES = {{8, 8}, {4, 4}, {4, 12}, {12, 4}, {12, 12}};
+
+    /**
+     * @param level Dimension the candidate is in
+     * @param chunkX Candidate chunk x
+     * @param chunkZ Candidate chunk z
+     * @return False if the chunk is estimated to be water, void or too steep to land on
+     */
+    public static boolean isPlausible(ServerLevel level, int chunkX, int chunkZ) {
+        // Under a roof the generator's surface height is the ceiling, so it says nothing useful
+        if (level.dimensionType().hasCeiling()) return true;
+
+        ChunkGenerator generator = level.getChunkSource().getGenerator();
+        RandomState randomState = level.getChunkSource().randomState();
+        int seaLevel = generator.getSeaLevel();
+        int blockX = SectionPos.sectionToBlockCoord(chunkX);
+        int blockZ = SectionPos.sectionToBlockCoord(chunkZ);
+
+        Holder<Biome> biome = generator.getBiomeSource().getNoiseBiome(
+                QuartPos.fromBlock(blockX + 8),
+                QuartPos.fromBlock(seaLevel),
+                QuartPos.fromBlock(blockZ + 8),
+                randomState.sampler()
+        );
+        if (biome.is(BiomeTags.IS_OCEAN) || biome.is(BiomeTags.IS_RIVER)) return false;
+
+        int minHeight = Integer.MAX_VALUE;
+        int maxHeight = Integer.MIN_VALUE;
+        for (int[] sample : HEIGHT_SAMPLES) {
+            int height = generator.getBaseHeight(
+                    blockX + sample[0],
+                    blockZ + sample[1],
+                    Heightmap.Types.OCEAN_FLOOR_WG,
+                    level,
+                    randomState
+            );
+            // Solid ground below sea level is under water, or there is no ground at all
+            if (height < seaLevel || height <= level.getMinBuildHeight()) return false;
+
+            minHeight = Math.min(minHeight, height);
+            maxHeight = Math.max(maxHeight, height);
+            if (maxHeight - minHeight > TeleportConstants.PREFILTER_MAX_SURFACE_SPREAD) return false;
+        }
+        return true;
+    }
+}
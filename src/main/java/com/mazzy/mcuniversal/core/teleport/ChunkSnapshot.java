@@ -0,0 +1,202 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+
+/**
+ * Immutable copy of the parts of a chunk the position scanner reads.
+ * Taken on the server thread by copying each section's block palette and the surface
+ * heightmaps, after which it can be scanned from any thread without touching the live chunk.
+ */
+public final class ChunkSnapshot implements TerrainView {
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+
+    private final ChunkPos pos;
+    private final int minBuildHeight;
+    private final int maxBuildHeight;
+    private final int minSection;
+    private final boolean overworld;
+    private final boolean ceiling;
+    // Null entries are sections that held only air
+    private final PalettedContainer<BlockState>[] sections;
+    private final boolean[] sectionHasAir;
+    private final int[] worldSurface;
+    private final int[] motionBlocking;
+
+    private ChunkSnapshot(ChunkPos pos, int minBuildHeight, int maxBuildHeight, boolean overworld, boolean ceiling,
+                          PalettedContainer<BlockState>[] sections, boolean[] sectionHasAir,
+                          int[] worldSurface, int[] motionBlocking) {
+        this.pos = pos;
+        this.minBuildHeight = minBuildHeight;
+        this.maxBuildHeight = maxBuildHeight;
+        this.minSection = SectionPos.blockToSectionCoord(minBuildHeight);
+        this.overworld = overworld;
+        this.ceiling = ceiling;
+        this.sections = sections;
+        this.sectionHasAir = sectionHasAir;
+        this.worldSurface = worldSurface;
+        this.motionBlocking = motionBlocking;
+    }
+
+    /**
+     * Copies the chunk's block states and heightmaps.
+     * Must be called on the server thread.
+     */
+    @SuppressWarnings("unchecked")
+    public static ChunkSnapshot of(ServerLevel level, ChunkAccess chunk) {
+        LevelChunkSection[] liveSections = chunk.getSections();
+        PalettedContainer<BlockState>[] sections = new PalettedContainer[liveSections.length];
+        boolean[] sectionHasAir = new boolean[liveSections.length];
+
+        for (int i = 0; i < liveSections.length; i++) {
+            LevelChunkSection section = liveSections[i];
+            if (section.hasOnlyAir()) {
+                sectionHasAir[i] = true;
+                continue;
+            }
+            sections[i] = section.getStates().copy();
+            sectionHasAir[i] = section.maybeHas(BlockState::isAir);
+        }
+
+        // Chunks below FULL only carry the worldgen heightmaps, which count fluids as surface too
+        boolean full = chunk.getStatus().isOrAfter(ChunkStatus.FULL);
+        Heightmap.Types surfaceType = full ? Heightmap.Types.WORLD_SURFACE : Heightmap.Types.WORLD_SURFACE_WG;
+        Heightmap.Types motionType = full ? Heightmap.Types.MOTION_BLOCKING : Heightmap.Types.WORLD_SURFACE_WG;
+
+        int[] worldSurface = new int[256];
+        int[] motionBlocking = new int[256];
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                worldSurface[x << 4 | z] = chunk.getHeight(surfaceType, x, z);
+                motionBlocking[x << 4 | z] = chunk.getHeight(motionType, x, z);
+            }
+        }
+
+        return new ChunkSnapshot(
+                chunk.getPos(),
+                level.getMinBuildHeight(),
+                level.getMaxBuildHeight(),
+                level.dimension().equals(Level.OVERWORLD),
+                level.dimensionType().hasCeiling(),
+                sections,
+                sectionHasAir,
+                worldSurface,
+                motionBlocking
+        );
+    }
+
+    /**
+     * Copies any terrain view into a snapshot, so synthetic terrain can be scanned through
+     * the same section-skipping path as real chunks. Needs the block registry bootstrapped.
+     */
+    @SuppressWarnings("unchecked")
+    public static ChunkSnapshot copyOf(TerrainView view) {
+        int minBuildHeight = view.getMinBuildHeight();
+        int sectionCount = (view.getMaxBuildHeight() - minBuildHeight) >> 4;
+        PalettedContainer<BlockState>[] sections = new PalettedContainer[sectionCount];
+        boolean[] sectionHasAir = new boolean[sectionCount];
+
+        for (int i = 0; i < sectionCount; i++) {
+            int bottom = minBuildHeight + (i << 4);
+            PalettedContainer<BlockState> states = new PalettedContainer<>(
+                    Block.BLOCK_STATE_REGISTRY, AIR, PalettedContainer.Strategy.SECTION_STATES);
+            boolean anyBlock = false;
+
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int dy = 0; dy < 16; dy++) {
+                        BlockState state = view.getBlockState(x, bottom + dy, z);
+                        if (state.isAir()) {
+                            sectionHasAir[i] = true;
+                        } else {
+                            anyBlock = true;
+                            states.getAndSetUnchecked(x, dy, z, state);
+                        }
+                    }
+                }
+            }
+            sections[i] = anyBlock ? states : null;
+        }
+
+        int[] worldSurface = new int[256];
+        int[] motionBlocking = new int[256];
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                worldSurface[x << 4 | z] = view.getHeight(Heightmap.Types.WORLD_SURFACE, x, z);
+                motionBlocking[x << 4 | z] = view.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z);
+            }
+        }
+
+        return new ChunkSnapshot(view.getPos(), minBuildHeight, view.getMaxBuildHeight(), view.isOverworld(),
+                view.hasCeiling(), sections, sectionHasAir, worldSurface, motionBlocking);
+    }
+
+    @Override
+    public ChunkPos getPos() {
+        return pos;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return minBuildHeight;
+    }
+
+    @Override
+    public int getMaxBuildHeight() {
+        return maxBuildHeight;
+    }
+
+    @Override
+    public boolean isOverworld() {
+        return overworld;
+    }
+
+    @Override
+    public boolean hasCeiling() {
+        return ceiling;
+    }
+
+    /** @return Block state at local x/z and absolute y, air outside the build range */
+    @Override
+    public BlockState getBlockState(int x, int y, int z) {
+        int index = getSectionIndex(y);
+        if (index < 0 || index >= sections.length || sections[index] == null) {
+            return AIR;
+        }
+        return sections[index].get(x, y & 15, z);
+    }
+
+    /** @return Height of the topmost block of the given heightmap at local x/z */
+    @Override
+    public int getHeight(Heightmap.Types type, int x, int z) {
+        int[] heights = type == Heightmap.Types.WORLD_SURFACE ? worldSurface : motionBlocking;
+        return heights[(x & 15) << 4 | (z & 15)];
+    }
+
+    /** @return True if the section containing y held only air */
+    @Override
+    public boolean isSectionEmpty(int y) {
+        return sections[getSectionIndex(y)] == null;
+    }
+
+    /** @return True if the section containing y may contain any air block */
+    @Override
+    public boolean sectionMayHaveAir(int y) {
+        return sectionHasAir[getSectionIndex(y)];
+    }
+
+    private int getSectionIndex(int y) {
+        return SectionPos.blockToSectionCoord(y) - minSection;
+    }
+}
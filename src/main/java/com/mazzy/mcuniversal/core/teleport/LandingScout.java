@@ -0,0 +1,129 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import com.mazzy.mcuniversal.McUniversal;
+import com.mazzy.mcuniversal.config.McUniversalConfig;
+import com.mazzy.mcuniversal.core.governor.WorkGovernor;
+import com.mazzy.mcuniversal.core.governor.WorkPriority;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps a bounded pool of already validated landing positions per dimension.
+ * Pools are refilled one chunk at a time while the server has spare tick time, and a
+ * position is removed from the pool when it is handed out so no two warps share it.
+ * All state is only touched on the server thread.
+ */
+@Mod.EventBusSubscriber(modid = McUniversal.MODID)
+public class LandingScout {
+    // Scouted chunks only need to be readable, so they are held without ticking
+    private static final int SCOUT_TICKET_DISTANCE = 0;
+
+    private static final Map<ResourceKey<Level>, ArrayDeque<BlockPos>> POOLS = new HashMap<>();
+    private static final Set<ResourceKey<Level>> SCOUTING = new HashSet<>();
+    private static int ticksUntilRefill;
+
+    /**
+     * Takes a pooled landing position for the dimension.
+     * @return Position to land on, or null if the pool is empty
+     */
+    public static BlockPos poll(ServerLevel level) {
+        ArrayDeque<BlockPos> pool = POOLS.get(level.dimension());
+        return pool == null ? null : pool.pollFirst();
+    }
+
+    /** @return Number of positions currently pooled for the dimension */
+    public static int size(ResourceKey<Level> dimension) {
+        ArrayDeque<BlockPos> pool = POOLS.get(dimension);
+        return pool == null ? 0 : pool.size();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+        if (--ticksUntilRefill > 0) return;
+        ticksUntilRefill = McUniversalConfig.LANDING_POOL_REFILL_INTERVAL.get();
+
+        MinecraftServer server = event.getServer();
+        if (server.getAverageTickTime() > McUniversalConfig.LANDING_POOL_MAX_MSPT.get()) return;
+
+        int maxSize = McUniversalConfig.LANDING_POOL_SIZE.get();
+        for (Map.Entry<ResourceKey<Level>, Integer> target : parseTargets().entrySet()) {
+            ResourceKey<Level> dimension = target.getKey();
+            if (SCOUTING.contains(dimension) || size(dimension) >= Math.min(target.getValue(), maxSize)) continue;
+
+            ServerLevel level = server.getLevel(dimension);
+            if (level == null) continue;
+
+            if (WorkGovernor.tryAcquire(WorkPriority.BACKGROUND, WorkGovernor.COST_SCAN)) {
+                scout(level);
+            }
+            return;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        POOLS.clear();
+        SCOUTING.clear();
+        ticksUntilRefill = 0;
+    }
+
+    private static void scout(ServerLevel level) {
+        ResourceKey<Level> dimension = level.dimension();
+        ChunkPos chunkPos = TeleportPositionHelper.generateNewChunk(level, WorkPriority.BACKGROUND);
+        TeleportTicketManager.Holder tickets = new TeleportTicketManager.Holder();
+        SCOUTING.add(dimension);
+
+        TeleportChunkLoader.acquire(tickets, level, chunkPos, ChunkStatus.FULL, SCOUT_TICKET_DISTANCE).thenAccept(chunk -> {
+            if (chunk == null) {
+                SCOUTING.remove(dimension);
+                tickets.releaseAll();
+                return;
+            }
+
+            ChunkSnapshot snapshot = ChunkSnapshot.of(level, chunk);
+            tickets.releaseAll();
+
+            TeleportManager.scanAsync(level, snapshot, level.getMaxBuildHeight(), false).thenAccept(found -> {
+                SCOUTING.remove(dimension);
+                if (found != null) {
+                    POOLS.computeIfAbsent(dimension, key -> new ArrayDeque<>()).addLast(found);
+                }
+            });
+        });
+    }
+
+    private static Map<ResourceKey<Level>, Integer> parseTargets() {
+        // Keeps config order, earlier dimensions are refilled first
+        Map<ResourceKey<Level>, Integer> targets = new LinkedHashMap<>();
+        for (String entry : McUniversalConfig.LANDING_POOL_TARGETS.get()) {
+            int split = entry.indexOf('=');
+            ResourceLocation id = ResourceLocation.tryParse(entry.substring(0, split).trim());
+            if (id == null) continue;
+            try {
+                targets.put(ResourceKey.create(Registries.DIMENSION, id), Integer.parseInt(entry.substring(split + 1).trim()));
+            } catch (NumberFormatException e) {
+                McUniversal.LOGGER.warn("Ignoring landing pool target '{}'", entry);
+            }
+        }
+        return targets;
+    }
+}
@@ -0,0 +1,87 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+/**
+ * {@link TerrainView} reading straight from a loaded chunk, without copying it.
+ * Only valid on the server thread and only while the chunk stays loaded.
+ */
+public class LiveChunkView implements TerrainView {
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+
+    private final ServerLevel level;
+    private final ChunkAccess chunk;
+    private final boolean full;
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+    public LiveChunkView(ServerLevel level, ChunkAccess chunk) {
+        this.level = level;
+        this.chunk = chunk;
+        this.full = chunk.getStatus().isOrAfter(ChunkStatus.FULL);
+    }
+
+    @Override
+    public ChunkPos getPos() {
+        return chunk.getPos();
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return level.getMinBuildHeight();
+    }
+
+    @Override
+    public int getMaxBuildHeight() {
+        return level.getMaxBuildHeight();
+    }
+
+    @Override
+    public boolean isOverworld() {
+        return level.dimension().equals(Level.OVERWORLD);
+    }
+
+    @Override
+    public boolean hasCeiling() {
+        return level.dimensionType().hasCeiling();
+    }
+
+    @Override
+    public BlockState getBlockState(int x, int y, int z) {
+        if (y < level.getMinBuildHeight() || y >= level.getMaxBuildHeight()) return AIR;
+        return chunk.getBlockState(cursor.set(x, y, z));
+    }
+
+    @Override
+    public int getHeight(Heightmap.Types type, int x, int z) {
+        // Chunks below FULL only carry the worldgen heightmaps
+        if (!full) {
+            type = Heightmap.Types.WORLD_SURFACE_WG;
+        }
+        return chunk.getHeight(type, x, z);
+    }
+
+    @Override
+    public boolean isSectionEmpty(int y) {
+        return getSection(y).hasOnlyAir();
+    }
+
+    @Override
+    public boolean sectionMayHaveAir(int y) {
+        LevelChunkSection section = getSection(y);
+        return section.hasOnlyAir() || section.maybeHas(BlockState::isAir);
+    }
+
+    private LevelChunkSection getSection(int y) {
+        return chunk.getSection(SectionPos.blockToSectionCoord(y) - SectionPos.blockToSectionCoord(level.getMinBuildHeight()));
+    }
+}
@@ -0,0 +1,164 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import com.mazzy.mcuniversal.McUniversal;
+import com.mazzy.mcuniversal.config.McUniversalConfig;
+import com.mazzy.mcuniversal.config.teleport.TeleportConstants;
+import com.mazzy.mcuniversal.core.governor.WorkGovernor;
+import com.mazzy.mcuniversal.core.governor.WorkPriority;
+import com.mazzy.mcuniversal.data.ExtraSpawnsSavedData;
+import com.mazzy.mcuniversal.data.SpawnGenerationSavedData;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fills the extra dimension's spawn pool in the background.
+ * Each candidate chunk from {@link SpawnGenerationSavedData} is prefiltered from the noise,
+ * loaded through the teleport chunk loader and scanned with the teleport safety checks, and
+ * every safe position found is added as a spawn. Candidates are only dispatched while the
+ * work governor grants background budget, with a bounded number in flight.
+ * All state is only touched on the server thread.
+ */
+@Mod.EventBusSubscriber(modid = McUniversal.MODID)
+public class SpawnPoolGenerator {
+    // Candidate chunks only need to be readable, so they are held without ticking
+    private static final int CANDIDATE_TICKET_DISTANCE = 0;
+
+    private static int inFlight;
+    // Bumped whenever in-flight candidates are forgotten, so their late results are dropped
+    private static int jobEpoch;
+
+    /**
+     * Starts generating spawns, replacing any unfinished job
+     * @param level Extra dimension
+     */
+    public static void start(ServerLevel level, int count, ChunkPos center, int radiusChunks, int spacingChunks) {
+        dropInFlight();
+        SpawnGenerationSavedData.get(level).start(count, center, radiusChunks, spacingChunks);
+    }
+
+    /** @return False if no job was running */
+    public static boolean cancel(ServerLevel level) {
+        SpawnGenerationSavedData progress = SpawnGenerationSavedData.get(level);
+        if (!progress.isActive()) return false;
+        dropInFlight();
+        progress.stop();
+        return true;
+    }
+
+    public static int getInFlight() {
+        return inFlight;
+    }
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        ServerLevel level = event.getServer().getLevel(TeleportConstants.EARTH_DIM_KEY);
+        if (level == null) return;
+
+        SpawnGenerationSavedData progress = SpawnGenerationSavedData.get(level);
+        if (progress.isActive()) {
+            McUniversal.LOGGER.info("Resuming spawn generation: {}/{} spawns, {}/{} candidates tried",
+                    progress.getGenerated(), progress.getTarget(),
+                    progress.getCandidatesTried(), progress.getCandidateCount());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        ServerLevel level = event.getServer().getLevel(TeleportConstants.EARTH_DIM_KEY);
+        if (level == null) return;
+
+        SpawnGenerationSavedData progress = SpawnGenerationSavedData.get(level);
+        if (!progress.isActive()) return;
+
+        if (progress.isComplete()) {
+            // Wait for dispatched candidates so their spawns still count
+            if (inFlight == 0) finish(progress);
+            return;
+        }
+
+        int maxInFlight = McUniversalConfig.SPAWN_GENERATOR_MAX_IN_FLIGHT.get();
+        // Every candidate pays a full scan up front, so rejected ones still bound the noise sampling per tick
+        while (inFlight < maxInFlight && progress.getGenerated() + inFlight < progress.getTarget()
+                && progress.hasCandidates()
+                && WorkGovernor.tryAcquire(WorkPriority.BACKGROUND, WorkGovernor.COST_SCAN)) {
+            ChunkPos candidate = progress.nextCandidate();
+            if (!CandidatePreFilter.isPlausible(level, candidate.x, candidate.z)) {
+                progress.recordRejected();
+                continue;
+            }
+            validate(level, progress, candidate);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        // Candidates still in flight are not retried, the job resumes after them
+        dropInFlight();
+    }
+
+    /** Forgets dispatched candidates, their results are ignored when they arrive */
+    private static void dropInFlight() {
+        inFlight = 0;
+        jobEpoch++;
+    }
+
+    private static void validate(ServerLevel level, SpawnGenerationSavedData progress, ChunkPos candidate) {
+        int epoch = jobEpoch;
+        TeleportTicketManager.Holder tickets = new TeleportTicketManager.Holder();
+        inFlight++;
+
+        TeleportChunkLoader.acquire(tickets, level, candidate, ChunkStatus.FULL, CANDIDATE_TICKET_DISTANCE)
+                .thenCompose(chunk -> {
+                    if (chunk == null || epoch != jobEpoch) {
+                        return CompletableFuture.<BlockPos>completedFuture(null);
+                    }
+                    ChunkSnapshot snapshot = ChunkSnapshot.of(level, chunk);
+                    tickets.releaseAll();
+                    return TeleportManager.scanAsync(level, snapshot, level.getMaxBuildHeight(), false);
+                })
+                .handle((found, throwable) -> {
+                    // Always frees the slot, a candidate that threw must not stall the job
+                    tickets.releaseAll();
+                    boolean added = false;
+                    if (throwable != null) {
+                        McUniversal.LOGGER.warn("Spawn candidate {} could not be validated", candidate, throwable);
+                    } else if (found != null && epoch == jobEpoch) {
+                        try {
+                            // Rerunning a job over the same region finds the same positions again
+                            added = ExtraSpawnsSavedData.get(level).addSpawn(found);
+                        } catch (RuntimeException e) {
+                            McUniversal.LOGGER.warn("Could not add spawn {}", found, e);
+                        }
+                    }
+                    complete(epoch, progress, added);
+                    return null;
+                });
+    }
+
+    private static void complete(int epoch, SpawnGenerationSavedData progress, boolean generated) {
+        if (epoch != jobEpoch) return;
+        inFlight--;
+        if (generated) {
+            progress.recordGenerated();
+        } else {
+            progress.recordRejected();
+        }
+    }
+
+    private static void finish(SpawnGenerationSavedData progress) {
+        progress.stop();
+        McUniversal.LOGGER.info("Spawn generation finished: {}/{} spawns added, {} candidates rejected",
+                progress.getGenerated(), progress.getTarget(), progress.getRejected());
+    }
+}
@@ -0,0 +1,210 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import com.mazzy.mcuniversal.McUniversal;
+import com.mazzy.mcuniversal.config.McUniversalConfig;
+import com.mazzy.mcuniversal.config.teleport.TeleportConstants;
+import com.mazzy.mcuniversal.core.governor.WorkGovernor;
+import com.mazzy.mcuniversal.core.governor.WorkPriority;
+import com.mazzy.mcuniversal.data.ExtraSpawnsSavedData;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the chunks of the next free extra dimension spawns loaded, and moves newly assigned
+ * players to their spawn without loading terrain on the server thread.
+ * Warm chunks are held with non-ticking teleport tickets and refreshed once a second as spawns
+ * are claimed. A player whose spawn chunk is not ready yet is held where they logged in until
+ * the chunk system delivers it.
+ * All state is only touched on the server thread.
+ */
+@Mod.EventBusSubscriber(modid = McUniversal.MODID)
+public class SpawnPrewarmer {
+    // Warm chunks only need to be resident, so they are held without ticking
+    private static final int WARM_TICKET_DISTANCE = 0;
+    private static final int REFRESH_INTERVAL_TICKS = 20;
+
+    private static final TeleportTicketManager.Holder WARM_TICKETS = new TeleportTicketManager.Holder();
+    private static final LongSet WARM_CHUNKS = new LongOpenHashSet();
+    // Ticks before a spawn chunk that failed to load is requested again
+    private static final int RETRY_DELAY_TICKS = 20;
+    // Squared distance a held player may drift from the hold position before being put back
+    private static final double HOLD_SLACK_SQR = 0.25;
+
+    /** A player waiting for their spawn chunk, kept in place until it is loaded */
+    private static final class PendingMove {
+        final ServerPlayer player;
+        final ServerLevel level;
+        final BlockPos spawnPos;
+        final Runnable onArrival;
+        final Vec3 holdPos;
+        final ServerLevel holdLevel;
+        final TeleportTicketManager.Holder tickets = new TeleportTicketManager.Holder();
+        // Ticks until the chunk is requested again, -1 while a request is running
+        int retryIn = -1;
+
+        PendingMove(ServerPlayer player, ServerLevel level, BlockPos spawnPos, Runnable onArrival) {
+            this.player = player;
+            this.level = level;
+            this.spawnPos = spawnPos;
+            this.onArrival = onArrival;
+            this.holdPos = player.position();
+            this.holdLevel = player.serverLevel();
+        }
+    }
+
+    private static final Map<UUID, PendingMove> PENDING = new HashMap<>();
+    private static ServerLevel warmLevel;
+    private static int ticksUntilRefresh;
+
+    /**
+     * Teleports the player to a spawn once its chunk is loaded. Until then the player is held
+     * where they logged in, and a chunk that fails to load is requested again, so the teleport
+     * never lands in an unloaded chunk.
+     * Must be called on the server thread.
+     * @param onArrival Run after the teleport, not run if the player left first
+     */
+    public static void teleportWhenReady(ServerPlayer player, ServerLevel level, BlockPos spawnPos, Runnable onArrival) {
+        PendingMove previous = PENDING.remove(player.getUUID());
+        if (previous != null) {
+            previous.tickets.releaseAll();
+        }
+
+        PendingMove move = new PendingMove(player, level, spawnPos, onArrival);
+        PENDING.put(player.getUUID(), move);
+        request(move);
+    }
+
+    private static void request(PendingMove move) {
+        move.retryIn = -1;
+        TeleportChunkLoader.acquire(move.tickets, move.level, new ChunkPos(move.spawnPos), ChunkStatus.FULL, WARM_TICKET_DISTANCE)
+                .thenAccept(chunk -> {
+                    // Superseded, or the player logged out while waiting
+                    if (PENDING.get(move.player.getUUID()) != move) return;
+
+                    if (chunk == null) {
+                        McUniversal.LOGGER.debug("Spawn chunk at {} did not load, retrying", move.spawnPos);
+                        move.retryIn = RETRY_DELAY_TICKS;
+                        return;
+                    }
+
+                    PENDING.remove(move.player.getUUID());
+                    if (!move.player.hasDisconnected()) {
+                        move.player.teleportTo(
+                                move.level,
+                                move.spawnPos.getX() + 0.5,  // Center of block X
+                                move.spawnPos.getY() + 0.1,  // Slightly above block Y to prevent clipping
+                                move.spawnPos.getZ() + 0.5,  // Center of block Z
+                                move.player.getYRot(),
+                                move.player.getXRot()
+                        );
+                        move.onArrival.run();
+                    }
+                    move.tickets.releaseAll();
+                });
+    }
+
+    /** Keeps waiting players at their hold position and re-requests chunks that failed */
+    private static void tickPending() {
+        for (PendingMove move : new ArrayList<>(PENDING.values())) {
+            ServerPlayer player = move.player;
+            if (!player.hasDisconnected() && player.serverLevel() == move.holdLevel
+                    && player.distanceToSqr(move.holdPos) > HOLD_SLACK_SQR) {
+                // Same level, so this only moves the player back and loads nothing new
+                player.connection.teleport(move.holdPos.x, move.holdPos.y, move.holdPos.z, player.getYRot(), player.getXRot());
+            }
+            if (move.retryIn > 0 && --move.retryIn == 0) {
+                request(move);
+            }
+        }
+    }
+
+    /** @return True if the player is waiting for their spawn chunk */
+    public static boolean isPending(ServerPlayer player) {
+        return PENDING.containsKey(player.getUUID());
+    }
+
+    public static int getWarmChunkCount() {
+        return WARM_CHUNKS.size();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+        tickPending();
+        if (--ticksUntilRefresh > 0) return;
+        ticksUntilRefresh = REFRESH_INTERVAL_TICKS;
+
+        ServerLevel level = event.getServer().getLevel(TeleportConstants.EARTH_DIM_KEY);
+        if (level == null) return;
+        refresh(level);
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        PendingMove move = PENDING.remove(event.getEntity().getUUID());
+        if (move != null) {
+            move.tickets.releaseAll();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        // The ticket manager drops every ticket on shutdown, only the bookkeeping is left
+        WARM_TICKETS.releaseAll();
+        WARM_CHUNKS.clear();
+        PENDING.clear();
+        warmLevel = null;
+        ticksUntilRefresh = 0;
+    }
+
+    /**
+     * Moves the warm set to the chunks of the spawns due next, releasing chunks whose spawn
+     * was claimed and requesting new ones while background budget lasts.
+     */
+    private static void refresh(ServerLevel level) {
+        if (warmLevel != level) {
+            WARM_TICKETS.releaseAll();
+            WARM_CHUNKS.clear();
+            warmLevel = level;
+        }
+
+        int count = McUniversalConfig.SPAWN_PREWARM_COUNT.get();
+        LongSet wanted = new LongOpenHashSet();
+        if (count > 0) {
+            for (ExtraSpawnsSavedData.SpawnEntry entry : ExtraSpawnsSavedData.get(level)
+                    .peekFreeSpawns(McUniversalConfig.SPAWN_ASSIGNMENT_POLICY.get(), count)) {
+                wanted.add(ChunkPos.asLong(entry.x >> 4, entry.z >> 4));
+            }
+        }
+
+        WARM_CHUNKS.removeIf(chunk -> {
+            if (wanted.contains(chunk)) return false;
+            WARM_TICKETS.release(level, new ChunkPos(chunk), WARM_TICKET_DISTANCE);
+            return true;
+        });
+
+        for (long chunk : wanted) {
+            if (WARM_CHUNKS.contains(chunk)) continue;
+            if (!WorkGovernor.tryAcquire(WorkPriority.BACKGROUND, WorkGovernor.COST_CHUNK_REQUEST)) break;
+
+            WARM_CHUNKS.add(chunk);
+            TeleportChunkLoader.acquire(WARM_TICKETS, level, new ChunkPos(chunk), ChunkStatus.FULL, WARM_TICKET_DISTANCE);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+import java.util.Arrays;
+
+/**
+ * {@link TerrainView} over terrain described by a block function, for benchmarks and for
+ * trying scan strategies without a server. Heightmaps are derived from the blocks once on
+ * construction. Needs the block registry bootstrapped.
+ */
+public class SyntheticTerrain implements TerrainView {
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+    private static final int SEA_LEVEL = 63;
+
+    /** Block layout by local x/z and absolute y */
+    @FunctionalInterface
+    public interface BlockSource {
+        BlockState getBlockState(int x, int y, int z);
+    }
+
+    private final ChunkPos pos;
+    private final int minBuildHeight;
+    private final int maxBuildHeight;
+    private final boolean overworld;
+    private final boolean ceiling;
+    private final BlockSource blocks;
+    private final int[] worldSurface = new int[256];
+    private final int[] motionBlocking = new int[256];
+
+    public SyntheticTerrain(ChunkPos pos, int minBuildHeight, int maxBuildHeight, boolean overworld, boolean ceiling,
+                            BlockSource blocks) {
+        this.pos = pos;
+        this.minBuildHeight = minBuildHeight;
+        this.maxBuildHeight = maxBuildHeight;
+        this.overworld = overworld;
+        this.ceiling = ceiling;
+        this.blocks = blocks;
+
+        // Empty columns report one below the build range, as ChunkAccess.getHeight does
+        Arrays.fill(worldSurface, minBuildHeight - 1);
+        Arrays.fill(motionBlocking, minBuildHeight - 1);
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                computeHeights(x, z);
+            }
+        }
+    }
+
+    /** Grass plains at y 70, every column has a landing spot */
+    public static SyntheticTerrain flat(ChunkPos pos) {
+        BlockState bedrock = Blocks.BEDROCK.defaultBlockState();
+        BlockState stone = Blocks.STONE.defaultBlockState();
+        BlockState dirt = Blocks.DIRT.defaultBlockState();
+        BlockState grass = Blocks.GRASS_BLOCK.defaultBlockState();
+        return new SyntheticTerrain(pos, -64, 320, true, false, (x, y, z) -> {
+            if (y == -64) return bedrock;
+            if (y < 66) return stone;
+            if (y < 70) return dirt;
+            if (y == 70) return grass;
+            return AIR;
+        });
+    }
+
+    /** Open ocean, the surface is water everywhere so no column has a landing spot */
+    public static SyntheticTerrain ocean(ChunkPos pos) {
+        BlockState bedrock = Blocks.BEDROCK.defaultBlockState();
+        BlockState stone = Blocks.STONE.defaultBlockState();
+        BlockState sand = Blocks.SAND.defaultBlockState();
+        BlockState water = Blocks.WATER.defaultBlockState();
+        return new SyntheticTerrain(pos, -64, 320, true, false, (x, y, z) -> {
+            if (y == -64) return bedrock;
+            if (y < 40) return stone;
+            if (y < 45) return sand;
+            if (y <= SEA_LEVEL) return water;
+            return AIR;
+        });
+    }
+
+    /** Plains over layered cave pockets, which keeps sections mixed all the way down */
+    public static SyntheticTerrain caves(ChunkPos pos) {
+        BlockState bedrock = Blocks.BEDROCK.defaultBlockState();
+        BlockState stone = Blocks.STONE.defaultBlockState();
+        BlockState grass = Blocks.GRASS_BLOCK.defaultBlockState();
+        return new SyntheticTerrain(pos, -64, 320, true, false, (x, y, z) -> {
+            if (y == -64) return bedrock;
+            if (y > 70) return AIR;
+            if (y == 70) return grass;
+            // Hollow pockets every 12 blocks, offset per column
+            if (y < 60 && Math.floorMod(y + x * 3 + z * 5, 12) < 3) return AIR;
+            return stone;
+        });
+    }
+
+    /** Roofed terrain with lava lakes and scattered ledges, like the nether */
+    public static SyntheticTerrain nether(ChunkPos pos) {
+        BlockState bedrock = Blocks.BEDROCK.defaultBlockState();
+        BlockState netherrack = Blocks.NETHERRACK.defaultBlockState();
+        BlockState lava = Blocks.LAVA.defaultBlockState();
+        return new SyntheticTerrain(pos, 0, 256, false, true, (x, y, z) -> {
+            if (y == 0 || y == 127) return bedrock;
+            if (y > 127) return AIR;
+            if (y > 110) return netherrack;
+            if (y < 32) return y < 31 ? netherrack : lava;
+            if (y == 60 && (x + z) % 4 == 0) return netherrack;
+            return y < 40 ? netherrack : AIR;
+        });
+    }
+
+    /** @return Named layout at chunk 0, 0: flat, ocean, caves or nether */
+    public static SyntheticTerrain byName(String name) {
+        ChunkPos origin = new ChunkPos(0, 0);
+        return switch (name) {
+            case "flat" -> flat(origin);
+            case "ocean" -> ocean(origin);
+            case "caves" -> caves(origin);
+            case "nether" -> nether(origin);
+            default -> throw new IllegalArgumentException("Unknown synthetic terrain: " + name);
+        };
+    }
+
+    @Override
+    public ChunkPos getPos() {
+        return pos;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return minBuildHeight;
+    }
+
+    @Override
+    public int getMaxBuildHeight() {
+        return maxBuildHeight;
+    }
+
+    @Override
+    public boolean isOverworld() {
+        return overworld;
+    }
+
+    @Override
+    public boolean hasCeiling() {
+        return ceiling;
+    }
+
+    @Override
+    public BlockState getBlockState(int x, int y, int z) {
+        if (y < minBuildHeight || y >= maxBuildHeight) return AIR;
+        return blocks.getBlockState(x & 15, y, z & 15);
+    }
+
+    @Override
+    public int getHeight(Heightmap.Types type, int x, int z) {
+        int[] heights = type == Heightmap.Types.WORLD_SURFACE ? worldSurface : motionBlocking;
+        return heights[(x & 15) << 4 | (z & 15)];
+    }
+
+    private void computeHeights(int x, int z) {
+        boolean surfaceFound = false;
+        for (int y = maxBuildHeight - 1; y >= minBuildHeight; y--) {
+            BlockState state = blocks.getBlockState(x, y, z);
+            if (state.isAir()) continue;
+
+            if (!surfaceFound) {
+                worldSurface[x << 4 | z] = y;
+                surfaceFound = true;
+            }
+            if (state.blocksMotion() || !state.getFluidState().isEmpty()) {
+                motionBlocking[x << 4 | z] = y;
+                return;
+            }
+        }
+    }
+}
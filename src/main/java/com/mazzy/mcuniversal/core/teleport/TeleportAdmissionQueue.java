@@ -0,0 +1,117 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import com.mazzy.mcuniversal.McUniversal;
+import com.mazzy.mcuniversal.config.McUniversalConfig;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounds the number of teleports running their worldgen pipeline per dimension.
+ * Requests beyond the limit wait in a FIFO line and are admitted as running tasks finish,
+ * so a burst of requests costs a steady amount of tick time instead of timing out together.
+ * Waiting tasks are cancelled by the timeout sweep once they exceed the queue wait limit.
+ * Only used from the server thread.
+ */
+@Mod.EventBusSubscriber(modid = McUniversal.MODID)
+public class TeleportAdmissionQueue {
+    private static final Map<ResourceKey<Level>, ArrayDeque<TeleportTask>> WAITING = new HashMap<>();
+    private static final Map<ResourceKey<Level>, Integer> IN_FLIGHT = new HashMap<>();
+
+    /**
+     * Admits the task right away if its dimension has a free slot, otherwise queues it.
+     * @param task Newly created task, already registered as active
+     */
+    public static void submit(TeleportTask task) {
+        ResourceKey<Level> dimension = task.level.dimension();
+        ArrayDeque<TeleportTask> waiting = WAITING.computeIfAbsent(dimension, key -> new ArrayDeque<>());
+
+        // Queued requests go first even if a slot frees up between ticks
+        if (waiting.isEmpty() && getInFlight(dimension) < getLimit()) {
+            admit(task);
+            return;
+        }
+
+        waiting.addLast(task);
+        showPosition(task, waiting.size());
+    }
+
+    /**
+     * Frees the task's slot or its place in line, admitting the next waiting task if any.
+     * @param task Finished or cancelled task
+     */
+    public static void release(TeleportTask task) {
+        ResourceKey<Level> dimension = task.level.dimension();
+        ArrayDeque<TeleportTask> waiting = WAITING.get(dimension);
+
+        if (!task.admitted) {
+            if (waiting != null && waiting.remove(task)) {
+                refreshPositions(waiting);
+            }
+            return;
+        }
+
+        task.admitted = false;
+        IN_FLIGHT.merge(dimension, -1, (current, delta) -> current + delta > 0 ? current + delta : null);
+
+        if (waiting == null) return;
+        boolean admittedAny = false;
+        while (!waiting.isEmpty() && getInFlight(dimension) < getLimit()) {
+            admit(waiting.pollFirst());
+            admittedAny = true;
+        }
+        if (admittedAny) {
+            refreshPositions(waiting);
+        }
+    }
+
+    /** @return Number of tasks waiting for a slot in the dimension */
+    public static int getWaiting(ResourceKey<Level> dimension) {
+        ArrayDeque<TeleportTask> waiting = WAITING.get(dimension);
+        return waiting == null ? 0 : waiting.size();
+    }
+
+    /** @return Number of admitted tasks in the dimension */
+    public static int getInFlight(ResourceKey<Level> dimension) {
+        return IN_FLIGHT.getOrDefault(dimension, 0);
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        WAITING.clear();
+        IN_FLIGHT.clear();
+    }
+
+    private static void admit(TeleportTask task) {
+        task.admitted = true;
+        task.queuePosition = 0;
+        IN_FLIGHT.merge(task.level.dimension(), 1, Integer::sum);
+        TeleportManager.beginAdmittedTask(task);
+    }
+
+    private static void refreshPositions(ArrayDeque<TeleportTask> waiting) {
+        int position = 1;
+        for (TeleportTask task : waiting) {
+            // Only players whose place actually moved get a boss bar update
+            if (task.queuePosition != position) {
+                showPosition(task, position);
+            }
+            position++;
+        }
+    }
+
+    private static void showPosition(TeleportTask task, int position) {
+        task.queuePosition = position;
+        task.display.showQueued(position);
+    }
+
+    private static int getLimit() {
+        return McUniversalConfig.TELEPORT_MAX_CONCURRENT_PER_DIMENSION.get();
+    }
+}
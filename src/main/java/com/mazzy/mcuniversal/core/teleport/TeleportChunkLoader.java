@@ -0,0 +1,85 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import com.mazzy.mcuniversal.McUniversal;
+import com.mazzy.mcuniversal.core.metrics.TeleportMetrics;
+import com.mazzy.mcuniversal.diagnostics.ChunkLoadEvent;
+import net.minecraft.Util;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkStatus;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking chunk acquisition for teleports.
+ * Chunks are requested through the chunk system's future path, so worldgen runs on the
+ * chunk workers and the server thread is only resumed once the chunk has reached the
+ * requested status.
+ */
+public class TeleportChunkLoader {
+    /**
+     * Takes a teleport ticket for the chunk on behalf of the holder and requests it at the given status.
+     * Must be called on the server thread.
+     * @param tickets Holder that keeps the ticket until it is released
+     * @param level Level owning the chunk
+     * @param pos Chunk to acquire
+     * @param status Minimum status the chunk has to reach
+     * @param ticketDistance Region ticket distance kept on the chunk; negative distances
+     *                       hold a chunk below FULL, at the status that many levels out
+     * @return Future completed on the server thread with the chunk, or null if loading failed
+     */
+    public static CompletableFuture<ChunkAccess> acquire(TeleportTicketManager.Holder tickets, ServerLevel level,
+                                                         ChunkPos pos, ChunkStatus status, int ticketDistance) {
+        ServerChunkCache chunkSource = level.getChunkSource();
+        tickets.hold(level, pos, ticketDistance);
+
+        // Already resident at full status, no need to go through the chunk system
+        if (status == ChunkStatus.FULL) {
+            ChunkAccess loaded = chunkSource.getChunkNow(pos.x, pos.z);
+            if (loaded != null) {
+                return CompletableFuture.completedFuture(loaded);
+            }
+        }
+
+        return timed(level, pos, status, request(level, pos, status));
+    }
+
+    private static CompletableFuture<ChunkAccess> timed(ServerLevel level, ChunkPos pos, ChunkStatus status,
+                                                       CompletableFuture<ChunkAccess> future) {
+        long start = System.nanoTime();
+        ChunkLoadEvent event = new ChunkLoadEvent();
+        event.begin();
+
+        return future.whenComplete((chunk, throwable) -> {
+            TeleportMetrics.recordChunkRequest(level.dimension(), System.nanoTime() - start);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.dimension = level.dimension().location().toString();
+                event.chunkX = pos.x;
+                event.chunkZ = pos.z;
+                event.status = status.getName();
+                event.success = chunk != null;
+                event.commit();
+            }
+        });
+    }
+
+    private static CompletableFuture<ChunkAccess> request(ServerLevel level, ChunkPos pos, ChunkStatus status) {
+        ServerChunkCache chunkSource = level.getChunkSource();
+
+        // getChunkFuture only blocks when called from the server thread, so issue it from a worker
+        return CompletableFuture
+                .supplyAsync(() -> chunkSource.getChunkFuture(pos.x, pos.z, status, true), Util.backgroundExecutor())
+                .thenCompose(future -> future)
+                .handleAsync((result, throwable) -> {
+                    if (throwable != null) {
+                        McUniversal.LOGGER.warn("Loading chunk {} in {} failed", pos, level.dimension().location(), throwable);
+                        return null;
+                    }
+                    return result.left().orElse(null);
+                }, level.getServer());
+    }
+}
@@ -1,47 +1,60 @@
 package com.mazzy.mcuniversal.core.teleport;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mazzy.mcuniversal.McUniversal;
+import com.mazzy.mcuniversal.config.McUniversalConfig;
 import com.mazzy.mcuniversal.config.teleport.TeleportConstants;
+import com.mazzy.mcuniversal.core.governor.WorkGovernor;
+import com.mazzy.mcuniversal.core.governor.WorkPriority;
+import com.mazzy.mcuniversal.core.metrics.TeleportMetrics;
+import com.mazzy.mcuniversal.data.VisitedChunksSavedData;
+import com.mazzy.mcuniversal.diagnostics.TeleportPhaseEvent;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.ChunkPos;
-import net.minecraft.server.level.ServerBossEvent;
 import net.minecraft.network.chat.Component;
-import net.minecraft.world.BossEvent;
 import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraft.world.level.chunk.ChunkStatus;
-import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.core.BlockPos;
-import net.minecraft.server.level.TicketType;
-import net.minecraft.util.Unit;
 import net.minecraft.world.level.Level;
 import java.util.*;
 import java.util.concurrent.*;
-import net.minecraft.util.Unit;
 
 public class TeleportManager {
-    private static final ExecutorService ASYNC_WORKER = Executors.newFixedThreadPool(2);
-    private static final TicketType<ChunkPos> TELEPORT_TICKET = TicketType.create("mcuniversal_teleport", Comparator.comparingLong(ChunkPos::toLong));
+    // Scans only read immutable ChunkSnapshots, so the pool can scale with the machine
+    private static final ExecutorService ASYNC_WORKER = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+            new ThreadFactoryBuilder().setNameFormat("mcuniversal-scan-%d").setDaemon(true).build()
+    );
+
+    private static final int TARGET_TICKET_DISTANCE = 2;
+    private static final int AREA_TICKET_DISTANCE = 3;
+    // Negative region distance sets the ticket level above FULL, so the staged candidate is kept
+    // loaded below FULL: it reaches at least the staged status and its neighbours lower ones
+    private static final int STAGED_TICKET_DISTANCE = -ChunkStatus.getDistance(TeleportConstants.STAGED_CANDIDATE_STATUS);
+    // Upper bound on surrounding chunk requests a single task issues per tick
+    private static final int MAX_CHUNK_REQUESTS_PER_TICK = 3;
 
     public static final Map<UUID, TeleportTask> ACTIVE_TELEPORTS = new ConcurrentHashMap<>();
-    public static final LinkedHashMap<ChunkPos, Boolean> CHUNK_CACHE = new LinkedHashMap<>(50, 0.75f, true) {
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<ChunkPos, Boolean> eldest) {
-            return size() > 50;
-        }
-    };
-
     private static void processWarmup(TeleportTask task) {
         float warmupProgress = 1 - (float) task.warmupTicks / (20 * TeleportConstants.WARMUP_SECONDS);
         float chunkProgress = task.phase == TeleportTask.Phase.POST_SCAN_LOAD ?
                 (float) task.chunksLoadedPostScan / task.totalChunksToLoad : 0;
-
-        task.bossBar.setProgress((warmupProgress + chunkProgress) / 2);
+        task.display.setProgress((warmupProgress + chunkProgress) / 2);
 
         if (++task.warmupTicks >= 20 * TeleportConstants.WARMUP_SECONDS) {
+            WorkGovernor.tryAcquire(WorkPriority.CRITICAL, WorkGovernor.COST_TELEPORT);
             executeTeleport(task);
             cleanupTask(task);
         } else {
-            spawnWarmupEffects(task.player);
+            if (task.phase == TeleportTask.Phase.POST_SCAN_LOAD && task.chunksLoadedPostScan > 0) {
+                task.display.showPreparing(
+                        task.chunksLoadedPostScan,
+                        task.totalChunksToLoad,
+                        20 * TeleportConstants.WARMUP_SECONDS - task.warmupTicks
+                );
+            }
+            task.display.tickEffects();
             scheduleNextStep(task, 1);
         }
     }
@@ -49,6 +62,7 @@ public class TeleportManager {
     private static void executeTeleport(TeleportTask task) {
         if (task.foundPos == null) {
             task.player.sendSystemMessage(Component.literal("Teleport failed!"));
+            task.outcome = TeleportMetrics.Outcome.FAILED;
             cleanupTask(task);
             return;
         }
@@ -67,29 +81,13 @@ public class TeleportManager {
         );
 
         task.player.connection.resetPosition();
+        task.outcome = TeleportMetrics.Outcome.COMPLETED;
         task.player.sendSystemMessage(Component.literal(
                 "Warped to " + task.dimId + " at " +
                         task.foundPos.getX() + ", " + task.foundPos.getZ()
         ));
     }
 
-    private static void spawnWarmupEffects(ServerPlayer player) {
-        ServerLevel level = (ServerLevel) player.level();
-        level.sendParticles(
-                player,
-                ParticleTypes.PORTAL,
-                true,
-                player.getX(),
-                player.getY() + 1,
-                player.getZ(),
-                10,
-                0.5,
-                0.5,
-                0.5,
-                0.2
-        );
-    }
-
     public static void startPhasedTeleport(ServerPlayer player, ServerLevel level, String dimId) {
         synchronized (ACTIVE_TELEPORTS) {
             if (ACTIVE_TELEPORTS.containsKey(player.getUUID())) {
@@ -103,239 +101,379 @@ public class TeleportManager {
         task.level = level;
         task.dimId = dimId;
         task.startTime = System.currentTimeMillis();
+        task.createdNanos = System.nanoTime();
         task.startPos = player.blockPosition();
-        task.targetChunk = TeleportPositionHelper.generateNewChunk(level);
-        task.chunksToLoad = Collections.singletonList(task.targetChunk);
-        task.totalChunksToLoad = 1;
-        task.bossBar = new ServerBossEvent(
-                Component.literal("Initializing teleport"),
-                BossEvent.BossBarColor.BLUE,
-                BossEvent.BossBarOverlay.PROGRESS
-        );
-        task.bossBar.addPlayer(player);
-        task.phase = TeleportTask.Phase.CHUNK_PREP;
+        task.display = new TeleportProgressDisplay(player);
 
         synchronized (ACTIVE_TELEPORTS) {
             ACTIVE_TELEPORTS.put(player.getUUID(), task);
         }
+        TeleportAdmissionQueue.submit(task);
+    }
+
+    /**
+     * Starts the pipeline of a task that got a slot in its dimension.
+     * Target selection waits until here so queued tasks hold no pooled spot or chunk.
+     */
+    static void beginAdmittedTask(TeleportTask task) {
+        // Time spent in line does not count against the task timeout
+        task.startTime = System.currentTimeMillis();
+        task.admittedNanos = System.nanoTime();
+        task.phaseStartNanos = task.admittedNanos;
+        beginPhaseEvent(task);
+        task.pooledPos = LandingScout.poll(task.level);
+        TeleportMetrics.recordStart(task.level.dimension(), task.admittedNanos - task.createdNanos, task.pooledPos != null);
+        task.targetChunk = task.pooledPos != null ?
+                new ChunkPos(task.pooledPos) :
+                TeleportPositionHelper.generateNewChunk(task.level, WorkPriority.PLAYER);
+        task.chunksToLoad = Collections.singletonList(task.targetChunk);
+        task.totalChunksToLoad = 1;
+        task.display.showInitializing();
+        task.phase = TeleportTask.Phase.CHUNK_PREP;
         scheduleNextStep(task, 0);
     }
 
+    /** Moves the task to a phase, recording how long it spent in the previous one */
+    private static void setPhase(TeleportTask task, TeleportTask.Phase phase) {
+        long now = System.nanoTime();
+        TeleportMetrics.recordPhase(task.level.dimension(), task.phase, now - task.phaseStartNanos);
+        commitPhaseEvent(task);
+        task.phaseStartNanos = now;
+        task.phase = phase;
+        beginPhaseEvent(task);
+    }
+
+    private static void beginPhaseEvent(TeleportTask task) {
+        task.phaseEvent = new TeleportPhaseEvent();
+        task.phaseEvent.begin();
+    }
+
+    private static void commitPhaseEvent(TeleportTask task) {
+        TeleportPhaseEvent event = task.phaseEvent;
+        task.phaseEvent = null;
+        if (event == null) return;
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.player = task.player.getGameProfile().getName();
+            event.dimension = task.dimId;
+            event.phase = task.phase.name();
+            event.chunkX = task.targetChunk.x;
+            event.chunkZ = task.targetChunk.z;
+            event.retries = task.retries;
+            event.harshScan = task.harshScan;
+            event.commit();
+        }
+    }
+
     public static void scheduleNextStep(TeleportTask task, int delay) {
-        task.player.getServer().submitAsync(() -> {
-            try {
-                if (delay > 0) {
-                    Thread.sleep(delay * 50L);
-                }
-            } catch (InterruptedException ignored) {
-                Thread.currentThread().interrupt();
-            }
-        }).thenRunAsync(() -> {
-            if (!validateTask(task)) return;
-
-            float tickTime = task.level.getServer().getAverageTickTime();
-            int maxOperations = tickTime > 45 ? 1 : tickTime > 30 ? 2 : 3;
-
-            switch (task.phase) {
-                case CHUNK_PREP -> processInitialChunkLoad(task, maxOperations);
-                case POSITION_SCAN -> processPositionScan(task, maxOperations);
-                case WARMUP -> processWarmup(task);
-                case POST_SCAN_LOAD -> {
-                    processPostScanLoading(task, maxOperations);
-                    processWarmup(task);
-                }
-            }
-        }, task.player.getServer());
+        TeleportScheduler.schedule(task, delay);
     }
 
-    private static void processTaskPhase(TeleportTask task) {
-        float tickTime = task.level.getServer().getAverageTickTime();
-        int maxOperations = tickTime > 45 ? 1 : tickTime > 30 ? 2 : 3;
+    static void runTask(TeleportTask task) {
+        // Skip stale wheel entries for tasks that already finished
+        if (ACTIVE_TELEPORTS.get(task.player.getUUID()) != task) return;
+        if (!validateTask(task)) return;
 
         switch (task.phase) {
-            case CHUNK_PREP:
-                processInitialChunkLoad(task, maxOperations);
-                break;
-            case POSITION_SCAN:
-                processPositionScan(task, maxOperations);
-                break;
-            case WARMUP:
-                processWarmup(task);
-                break;
-            case POST_SCAN_LOAD:
-                processPostScanLoading(task, maxOperations);
+            case CHUNK_PREP -> {
+                if (WorkGovernor.tryAcquire(WorkPriority.PLAYER, WorkGovernor.COST_CHUNK_REQUEST)) {
+                    processInitialChunkLoad(task);
+                } else {
+                    scheduleNextStep(task, 1);
+                }
+            }
+            case POSITION_SCAN -> {
+                if (WorkGovernor.tryAcquire(WorkPriority.PLAYER, WorkGovernor.COST_SCAN)) {
+                    processPositionScan(task);
+                } else {
+                    scheduleNextStep(task, 1);
+                }
+            }
+            case WARMUP -> processWarmup(task);
+            case POST_SCAN_LOAD -> {
+                int remaining = task.totalChunksToLoad - task.chunksRequestedPostScan;
+                processPostScanLoading(task, WorkGovernor.acquireUpTo(
+                        WorkPriority.PLAYER,
+                        Math.min(remaining, MAX_CHUNK_REQUESTS_PER_TICK),
+                        WorkGovernor.COST_CHUNK_REQUEST
+                ));
                 processWarmup(task);
-                break;
+            }
         }
     }
 
-    private static void processInitialChunkLoad(TeleportTask task, int maxOperations) {
-        ASYNC_WORKER.submit(() -> {
-            task.level.getChunkSource().addRegionTicket(
-                    TELEPORT_TICKET,
-                    task.targetChunk,
-                    2,
-                    task.targetChunk
-            );
+    private static void processInitialChunkLoad(TeleportTask task) {
+        if (task.awaitingChunk) return;
+        task.awaitingChunk = true;
+
+        ChunkPos requested = task.targetChunk;
+        // Fresh candidates are only generated far enough to scan, pooled spots were already accepted
+        boolean staged = task.pooledPos == null && McUniversalConfig.TELEPORT_STAGED_EVALUATION.get();
+        task.staged = staged;
+
+        // The staged ticket holds the candidate until the snapshot is taken, so it cannot be dropped mid-generation
+        int ticketDistance = staged ? STAGED_TICKET_DISTANCE : TARGET_TICKET_DISTANCE;
+        CompletableFuture<ChunkAccess> future = staged ?
+                acquireChunk(task, requested, TeleportConstants.STAGED_CANDIDATE_STATUS, ticketDistance) :
+                acquireChunk(task, requested, ChunkStatus.FULL, ticketDistance);
+
+        future.thenAccept(chunk -> {
+            // The task may have retried or finished while worldgen was running
+            if (ACTIVE_TELEPORTS.get(task.player.getUUID()) != task || !requested.equals(task.targetChunk)) {
+                task.tickets.release(task.level, requested, ticketDistance);
+                return;
+            }
+            task.awaitingChunk = false;
 
-            task.player.getServer().execute(() -> {
-                if (!task.level.hasChunk(task.targetChunk.x, task.targetChunk.z)) {
-                    task.level.getChunk(task.targetChunk.x, task.targetChunk.z, ChunkStatus.FULL, true);
-                }
+            if (chunk == null) {
+                task.tickets.release(task.level, requested, ticketDistance);
+                handleLoadFailure(task);
+                return;
+            }
 
-                task.phase = TeleportTask.Phase.POSITION_SCAN;
-                task.scanY = task.level.getMaxBuildHeight();
-                task.bossBar.setName(Component.literal("Scanning for safe position..."));
-                scheduleNextStep(task, 1);
-            });
+            // A pooled landing spot only needs re-checking, the terrain may have changed since it was scouted
+            BlockPos pooled = task.pooledPos;
+            task.pooledPos = null;
+            if (pooled != null && TeleportPositionHelper.isPositionValid(chunk, pooled.below(), false)) {
+                task.foundPos = pooled;
+                beginPostScanLoad(task);
+                return;
+            }
+
+            // Proto chunks are not reachable through getChunkNow, so keep the snapshot from here
+            // A full candidate keeps its target ticket for the scan, only the staged one is done with
+            task.snapshot = staged ? ChunkSnapshot.of(task.level, chunk) : null;
+            if (staged) {
+                task.tickets.release(task.level, requested, STAGED_TICKET_DISTANCE);
+            }
+            setPhase(task, TeleportTask.Phase.POSITION_SCAN);
+            task.scanY = task.level.getMaxBuildHeight();
+            task.display.showScanning();
+            scheduleNextStep(task, 0);
         });
     }
 
-    private static void processPositionScan(TeleportTask task, int maxOperations) {
-        ASYNC_WORKER.submit(() -> {
-            ChunkAccess chunk = task.level.getChunk(task.targetChunk.x, task.targetChunk.z);
-            BlockPos foundPos = null;
-            int localScanY = task.scanY;
-            int operationsDone = 0;
-
-            while (operationsDone < maxOperations && localScanY >= task.level.getMinBuildHeight()) {
-                foundPos = TeleportPositionHelper.findValidPosition(
-                        task.level,
-                        chunk,
-                        task.targetChunk,
-                        localScanY,
-                        task.harshScan
-                );
-                if (foundPos != null) break;
-                localScanY -= task.harshScan ?
-                        TeleportConstants.HARSH_SCAN_STEP :
-                        TeleportConstants.SCAN_STEP;
-                operationsDone++;
+    private static void upgradeCandidate(TeleportTask task) {
+        task.staged = false;
+        task.awaitingChunk = true;
+
+        ChunkPos requested = task.targetChunk;
+        acquireChunk(task, requested, ChunkStatus.FULL, TARGET_TICKET_DISTANCE).thenAccept(chunk -> {
+            if (ACTIVE_TELEPORTS.get(task.player.getUUID()) != task || !requested.equals(task.targetChunk)) return;
+            task.awaitingChunk = false;
+
+            if (chunk == null) {
+                handleLoadFailure(task);
+                return;
             }
 
-            final BlockPos finalPos = foundPos;
-            final int finalScanY = localScanY;
-
-            task.player.getServer().execute(() -> {
-                task.foundPos = finalPos;
-                task.scanY = finalScanY;
-
-                if (task.foundPos != null) {
-                    task.phase = TeleportTask.Phase.POST_SCAN_LOAD;
-                    task.chunksToLoad = TeleportPositionHelper.generateChunkGrid(
-                            task.targetChunk,
-                            task.level.dimension().equals(Level.OVERWORLD) ?
-                                    TeleportConstants.OVERWORLD_CHUNK_PREGEN_RADIUS :
-                                    TeleportConstants.CHUNK_PREGEN_RADIUS
-                    );
-                    task.totalChunksToLoad = task.chunksToLoad.size();
-                    task.chunksLoadedPostScan = 0;
-                    task.warmupTicks = 1;
-                    task.bossBar.setName(Component.literal("Preparing area..."));
-                    scheduleNextStep(task, 1);
-                } else if (task.scanY < task.level.getMinBuildHeight()) {
-                    handleScanFailure(task);
-                } else {
-                    task.bossBar.setProgress(1 - (float) task.scanY / task.level.getMaxBuildHeight());
-                    scheduleNextStep(task, 1);
-                }
-            });
+            // Features and decoration ran after the staged scan, so the spot has to hold up on the full chunk
+            if (TeleportPositionHelper.isPositionValid(chunk, task.foundPos.below(), task.harshScan)) {
+                beginPostScanLoad(task);
+                return;
+            }
+
+            task.foundPos = null;
+            task.scanY = task.level.getMaxBuildHeight();
+            scheduleNextStep(task, 0);
         });
     }
 
-    private static void processPostScanLoading(TeleportTask task, int maxOperations) {
-        ASYNC_WORKER.submit(() -> {
-            List<ChunkPos> chunksToProcess = new ArrayList<>(
-                    task.chunksToLoad.subList(
-                            task.chunksLoadedPostScan,
-                            Math.min(
-                                    task.chunksLoadedPostScan + maxOperations,
-                                    task.totalChunksToLoad
-                            )
-                    )
-            );
+    private static void processPositionScan(TeleportTask task) {
+        ChunkSnapshot snapshot = task.snapshot;
+        task.snapshot = null;
 
-            chunksToProcess.forEach(chunk ->
-                    task.level.getChunkSource().addRegionTicket(
-                            TELEPORT_TICKET,
-                            chunk,
-                            3,
-                            chunk
-                    )
-            );
+        if (snapshot == null) {
+            ChunkAccess chunk = task.level.getChunkSource().getChunkNow(task.targetChunk.x, task.targetChunk.z);
+            if (chunk == null) {
+                // Unloaded since CHUNK_PREP, acquire it again
+                setPhase(task, TeleportTask.Phase.CHUNK_PREP);
+                scheduleNextStep(task, 0);
+                return;
+            }
+            snapshot = ChunkSnapshot.of(task.level, chunk);
+        }
 
-            task.player.getServer().execute(() -> {
-                chunksToProcess.forEach(chunk -> {
-                    if (!task.level.hasChunk(chunk.x, chunk.z)) {
-                        task.level.getChunk(
-                                chunk.x,
-                                chunk.z,
-                                task.level.dimension().equals(Level.OVERWORLD) ?
-                                        ChunkStatus.STRUCTURE_STARTS :
-                                        ChunkStatus.FULL,
-                                true
-                        );
+        scanAsync(task.level, snapshot, task.scanY, task.harshScan).thenAccept(foundPos -> {
+            if (ACTIVE_TELEPORTS.get(task.player.getUUID()) != task) return;
+            task.foundPos = foundPos;
+
+            // A single pass covers every column below scanY, so a miss means the chunk has no landing spot
+            if (task.foundPos == null) {
+                handleScanFailure(task);
+            } else if (task.staged) {
+                upgradeCandidate(task);
+            } else {
+                beginPostScanLoad(task);
+            }
+        });
+    }
+
+    /**
+     * Scans a snapshot on the scan pool.
+     * @return Future completed on the server thread with the landing position, or null if none was found
+     */
+    static CompletableFuture<BlockPos> scanAsync(ServerLevel level, ChunkSnapshot snapshot, int startY, boolean harshScan) {
+        return CompletableFuture
+                .supplyAsync(() -> TeleportPositionHelper.findValidPosition(snapshot, startY, harshScan), ASYNC_WORKER)
+                .handleAsync((pos, throwable) -> {
+                    if (throwable != null) {
+                        McUniversal.LOGGER.error("Position scan of chunk {} failed", snapshot.getPos(), throwable);
+                        return null;
                     }
-                });
+                    return pos;
+                }, level.getServer());
+    }
 
-                task.chunksLoadedPostScan += chunksToProcess.size();
-                task.bossBar.setName(Component.literal(String.format(
-                        "Preparing area (%d/%d) | Warping in %.1fs",
-                        task.chunksLoadedPostScan,
-                        task.totalChunksToLoad,
-                        (20 * TeleportConstants.WARMUP_SECONDS - task.warmupTicks) / 20f
-                )));
+    private static void beginPostScanLoad(TeleportTask task) {
+        setPhase(task, TeleportTask.Phase.POST_SCAN_LOAD);
+        task.chunksToLoad = TeleportPositionHelper.generateChunkGrid(
+                task.targetChunk,
+                task.level.dimension().equals(Level.OVERWORLD) ?
+                        TeleportConstants.OVERWORLD_CHUNK_PREGEN_RADIUS :
+                        TeleportConstants.CHUNK_PREGEN_RADIUS
+        );
+        task.totalChunksToLoad = task.chunksToLoad.size();
+        task.chunksRequestedPostScan = 0;
+        task.chunksLoadedPostScan = 0;
+        task.warmupTicks = 1;
+        task.display.showPreparing();
+        scheduleNextStep(task, 1);
+    }
 
-                if (task.chunksLoadedPostScan < task.totalChunksToLoad) {
-                    scheduleNextStep(task, 1);
-                }
+    private static void processPostScanLoading(TeleportTask task, int maxOperations) {
+        int end = Math.min(task.chunksRequestedPostScan + maxOperations, task.totalChunksToLoad);
+        ChunkStatus status = task.level.dimension().equals(Level.OVERWORLD) ?
+                ChunkStatus.STRUCTURE_STARTS :
+                ChunkStatus.FULL;
+
+        for (int i = task.chunksRequestedPostScan; i < end; i++) {
+            acquireChunk(task, task.chunksToLoad.get(i), status, AREA_TICKET_DISTANCE).thenAccept(chunk -> {
+                if (ACTIVE_TELEPORTS.get(task.player.getUUID()) != task) return;
+
+                task.chunksLoadedPostScan++;
             });
-        });
+        }
+        task.chunksRequestedPostScan = end;
     }
 
     private static void handleScanFailure(TeleportTask task) {
+        VisitedChunksSavedData.get(task.level).markFailed(task.targetChunk.toLong());
+
         if (task.retries >= (task.harshScan ? TeleportConstants.MAX_HARSH_RETRIES : TeleportConstants.MAX_RETRIES)) {
             if (task.harshScan) {
                 task.player.sendSystemMessage(Component.literal("Harsh scan failed after " + TeleportConstants.MAX_HARSH_RETRIES + " attempts!"));
+                task.outcome = TeleportMetrics.Outcome.FAILED;
             } else {
                 task.player.sendSystemMessage(Component.literal("Failed after " + TeleportConstants.MAX_RETRIES + " attempts! Starting harsh scan..."));
                 task.harshScan = true;
                 task.retries = 0;
-                task.targetChunk = TeleportPositionHelper.generateNewChunk(task.level);
-                task.chunksToLoad = Collections.singletonList(task.targetChunk);
-                task.chunksLoaded = 0;
-                task.scanY = task.level.getMaxBuildHeight();
-                task.warmupTicks = 0;
-                scheduleNextStep(task, 0);
+                TeleportMetrics.recordHarshScan(task.level.dimension());
+                TeleportMetrics.recordRetry(task.level.dimension());
+                retryWithNewCandidate(task);
                 return;
             }
             cleanupTask(task);
         } else {
             task.retries++;
-            task.targetChunk = TeleportPositionHelper.generateNewChunk(task.level);
-            task.chunksToLoad = Collections.singletonList(task.targetChunk);
-            task.chunksLoaded = 0;
-            task.scanY = task.level.getMaxBuildHeight();
-            task.warmupTicks = 0;
-            scheduleNextStep(task, 0);
+            TeleportMetrics.recordRetry(task.level.dimension());
+            retryWithNewCandidate(task);
+        }
+    }
+
+    /**
+     * The candidate never loaded, which says nothing about its terrain, so it is not recorded
+     * as failed and the player's retries are kept. The task timeout bounds repeated failures.
+     */
+    private static void handleLoadFailure(TeleportTask task) {
+        TeleportMetrics.recordRetry(task.level.dimension());
+        retryWithNewCandidate(task);
+    }
+
+    /** Acquires a chunk under the task's tickets, counted towards the task's chunks per warp */
+    private static CompletableFuture<ChunkAccess> acquireChunk(TeleportTask task, ChunkPos pos, ChunkStatus status, int ticketDistance) {
+        TeleportMetrics.recordTaskChunkRequest(task.level.dimension());
+        return TeleportChunkLoader.acquire(task.tickets, task.level, pos, status, ticketDistance);
+    }
+
+    private static void retryWithNewCandidate(TeleportTask task) {
+        task.tickets.release(task.level, task.targetChunk, TARGET_TICKET_DISTANCE);
+        task.targetChunk = TeleportPositionHelper.generateNewChunk(task.level, WorkPriority.PLAYER);
+        task.chunksToLoad = Collections.singletonList(task.targetChunk);
+        task.chunksLoaded = 0;
+        task.awaitingChunk = false;
+        setPhase(task, TeleportTask.Phase.CHUNK_PREP);
+        task.scanY = task.level.getMaxBuildHeight();
+        task.warmupTicks = 0;
+        scheduleNextStep(task, 0);
+    }
+
+    /**
+     * Validates every active task, including ones parked on a chunk future that the
+     * wheel would not otherwise revisit, so timed out tasks still release their tickets.
+     */
+    static void sweepExpired() {
+        for (TeleportTask task : new ArrayList<>(ACTIVE_TELEPORTS.values())) {
+            validateTask(task);
         }
     }
 
     protected static boolean validateTask(TeleportTask task) {
-        if (!task.player.isAlive() || task.player.level().isClientSide ||
-                System.currentTimeMillis() - task.startTime > TeleportConstants.MAX_TASK_DURATION_MS) {
+        if (!task.player.isAlive() || task.player.hasDisconnected() || task.player.level().isClientSide) {
+            task.outcome = TeleportMetrics.Outcome.CANCELLED;
+            cleanupTask(task);
+            return false;
+        }
+        if (task.admitted && System.currentTimeMillis() - task.startTime > TeleportConstants.MAX_TASK_DURATION_MS) {
+            task.outcome = TeleportMetrics.Outcome.TIMED_OUT;
+            cleanupTask(task);
+            return false;
+        }
+        // A stuck dimension never frees a slot, so waiting in line is bounded separately
+        if (!task.admitted && System.currentTimeMillis() - task.startTime > McUniversalConfig.TELEPORT_MAX_QUEUE_WAIT.get() * 1000L) {
+            task.player.sendSystemMessage(Component.literal("Teleport cancelled, no slot freed up in time. Please try again later."));
+            task.outcome = TeleportMetrics.Outcome.TIMED_OUT;
             cleanupTask(task);
             return false;
         }
         return true;
     }
 
+    /**
+     * Ends a task that threw, releasing its tickets and its admission slot
+     */
+    static void abortTask(TeleportTask task) {
+        task.outcome = TeleportMetrics.Outcome.FAILED;
+        try {
+            cleanupTask(task);
+        } catch (RuntimeException e) {
+            // Cleanup got partway, make sure the task can neither run again nor keep its tickets
+            ACTIVE_TELEPORTS.remove(task.player.getUUID(), task);
+            TeleportAdmissionQueue.release(task);
+            task.tickets.releaseAll();
+            McUniversal.LOGGER.error("Cleanup of a failed teleport task failed", e);
+        }
+    }
+
     protected static void cleanupTask(TeleportTask task) {
-        task.bossBar.removeAllPlayers();
+        task.display.close();
         synchronized (ACTIVE_TELEPORTS) {
-            ACTIVE_TELEPORTS.remove(task.player.getUUID());
+            // Already cleaned up, e.g. by the timeout sweep while a chunk future was pending
+            if (!ACTIVE_TELEPORTS.remove(task.player.getUUID(), task)) return;
+        }
+        if (task.admitted) {
+            long now = System.nanoTime();
+            TeleportMetrics.recordPhase(task.level.dimension(), task.phase, now - task.phaseStartNanos);
+            commitPhaseEvent(task);
+            TeleportMetrics.recordOutcome(
+                    task.level.dimension(),
+                    task.outcome != null ? task.outcome : TeleportMetrics.Outcome.CANCELLED,
+                    now - task.admittedNanos
+            );
         }
-        // Release all chunk tickets
-        task.level.getChunkSource().removeRegionTicket(TELEPORT_TICKET, task.targetChunk, 2, task.targetChunk);
+        TeleportAdmissionQueue.release(task);
+        // Release every ticket the task took, including ones from earlier retries
+        task.tickets.releaseAll();
     }
 }
\ No newline at end of file
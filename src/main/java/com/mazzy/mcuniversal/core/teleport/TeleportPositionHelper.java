@@ -1,8 +1,10 @@
 package com.mazzy.mcuniversal.core.teleport;
 
 import com.mazzy.mcuniversal.config.teleport.TeleportConstants;
+import com.mazzy.mcuniversal.core.governor.WorkGovernor;
+import com.mazzy.mcuniversal.core.governor.WorkPriority;
+import com.mazzy.mcuniversal.data.VisitedChunksSavedData;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.core.BlockPos;
@@ -11,57 +13,131 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.Heightmap;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongPredicate;
+import java.util.random.RandomGenerator;
 
 public class TeleportPositionHelper {
+    private static final int[] DEFAULT_OFFSETS = {4, 8, 12};
+    private static final int[] HARSH_OFFSETS = {0, 4, 8, 12};
+
+    /**
+     * Scans a live chunk on the calling thread.
+     * Must be called on the server thread; worker threads should scan a {@link ChunkSnapshot}.
+     */
     public static BlockPos findValidPosition(ServerLevel level, ChunkAccess chunk, ChunkPos chunkPos, int startY, boolean harshScan) {
-        List<Integer> xOffsets = new ArrayList<>();
-        List<Integer> zOffsets = new ArrayList<>();
+        return findValidPosition(new LiveChunkView(level, chunk), startY, harshScan);
+    }
 
-        if (harshScan) {
-            for (int i = 0; i < 16; i += 4) xOffsets.add(i);
-            for (int i = 0; i < 16; i += 4) zOffsets.add(i);
-        } else {
-            xOffsets = Arrays.asList(4, 8, 12);
-            zOffsets = Arrays.asList(4, 8, 12);
-        }
+    /**
+     * Looks for a safe landing position in the column set of a terrain view.
+     * @param chunk Terrain to scan, safe off-thread only if the view is
+     * @param startY Highest y to consider
+     * @param harshScan Scan every block down to the bottom of the world and reject hazards too
+     * @return Position to stand at, or null if the chunk has none
+     */
+    public static BlockPos findValidPosition(TerrainView chunk, int startY, boolean harshScan) {
+        int[] offsets = harshScan ? HARSH_OFFSETS : DEFAULT_OFFSETS;
+        int minBuild = chunk.getMinBuildHeight();
+        int maxBuild = chunk.getMaxBuildHeight();
+        int step = getScanStep(chunk.isOverworld(), harshScan);
+        ChunkPos chunkPos = chunk.getPos();
+
+        // Start the column order at a random offset instead of shuffling copies of the offset lists
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        int xStart = rand.nextInt(offsets.length);
+        int zStart = rand.nextInt(offsets.length);
+
+        for (int i = 0; i < offsets.length; i++) {
+            int xOffset = offsets[(xStart + i) % offsets.length];
+            for (int j = 0; j < offsets.length; j++) {
+                int zOffset = offsets[(zStart + j) % offsets.length];
 
-        Collections.shuffle(xOffsets);
-        Collections.shuffle(zOffsets);
-
-        for (int xOffset : xOffsets) {
-            for (int zOffset : zOffsets) {
-                int surfaceY = chunk.getHeight(Heightmap.Types.MOTION_BLOCKING, xOffset, zOffset);
-                int minY = harshScan ? level.getMinBuildHeight() : Math.max(surfaceY - 8, level.getMinBuildHeight());
-                int maxY = harshScan ? level.getMaxBuildHeight() : Math.min(surfaceY + 3, level.getMaxBuildHeight());
-                int step = getScanStep(level, harshScan);
-
-                for (int y = Math.min(startY, maxY); y >= minY; y -= step) {
-                    BlockPos pos = new BlockPos(
-                            chunkPos.getBlockX(xOffset),
-                            y,
-                            chunkPos.getBlockZ(zOffset)
-                    );
-                    if (isPositionValid(chunk, pos, harshScan)) {
-                        return pos.above();
-                    }
+                int minY;
+                int maxY;
+                if (harshScan) {
+                    // Nothing above the topmost block can be stood on except the block right on top of it
+                    minY = minBuild + 1;
+                    maxY = Math.min(chunk.getHeight(Heightmap.Types.WORLD_SURFACE, xOffset, zOffset) + 1, maxBuild - 1);
+                } else {
+                    int surfaceY = chunk.getHeight(Heightmap.Types.MOTION_BLOCKING, xOffset, zOffset);
+                    minY = Math.max(surfaceY - 8, minBuild + 1);
+                    maxY = Math.min(surfaceY + 3, maxBuild - 1);
+                }
+
+                int y = scanColumn(chunk, xOffset, zOffset, Math.min(startY, maxY), minY, step, harshScan);
+                if (y != Integer.MIN_VALUE) {
+                    return new BlockPos(chunkPos.getBlockX(xOffset), y + 1, chunkPos.getBlockZ(zOffset));
                 }
             }
         }
         return null;
     }
 
-    private static int getScanStep(ServerLevel level, boolean harshScan) {
+    /**
+     * Walks one column downwards keeping a sliding above/state/below window, so each step
+     * reads a single new block state. Sections that are all air or contain no air are skipped.
+     * @return Y of the first standable air block, or Integer.MIN_VALUE if there is none
+     */
+    private static int scanColumn(TerrainView chunk, int x, int z, int y, int minY, int step, boolean harshScan) {
+        BlockState above = chunk.getBlockState(x, y + 1, z);
+        BlockState state = chunk.getBlockState(x, y, z);
+        BlockState below = chunk.getBlockState(x, y - 1, z);
+
+        while (y >= minY) {
+            int sectionBottom = chunk.getSectionBottom(y);
+
+            int skipTo = y;
+            if (chunk.isSectionEmpty(y)) {
+                // Only the bottom layer of an empty section can have ground below it
+                skipTo = sectionBottom;
+            } else if (!chunk.sectionMayHaveAir(y)) {
+                // No air anywhere in the section, so nothing in it can be stood in
+                skipTo = sectionBottom - 1;
+            }
+
+            if (skipTo != y) {
+                y = skipTo;
+                above = chunk.getBlockState(x, y + 1, z);
+                state = chunk.getBlockState(x, y, z);
+                below = chunk.getBlockState(x, y - 1, z);
+                continue;
+            }
+
+            if (isStandable(state, below, above, harshScan)) {
+                return y;
+            }
+
+            y -= step;
+            if (step == 1) {
+                above = state;
+                state = below;
+                below = chunk.getBlockState(x, y - 1, z);
+            } else {
+                above = chunk.getBlockState(x, y + 1, z);
+                state = chunk.getBlockState(x, y, z);
+                below = chunk.getBlockState(x, y - 1, z);
+            }
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    private static int getScanStep(boolean overworld, boolean harshScan) {
         if (harshScan) return TeleportConstants.HARSH_SCAN_STEP;
-        return level.dimension().equals(Level.OVERWORLD) ?
+        return overworld ?
                 TeleportConstants.OVERWORLD_SCAN_STEP :
                 TeleportConstants.SCAN_STEP;
     }
 
     public static boolean isPositionValid(ChunkAccess chunk, BlockPos pos, boolean harshScan) {
-        BlockState state = chunk.getBlockState(pos);
-        BlockState below = chunk.getBlockState(pos.below());
-        BlockState above = chunk.getBlockState(pos.above());
+        return isStandable(
+                chunk.getBlockState(pos),
+                chunk.getBlockState(pos.below()),
+                chunk.getBlockState(pos.above()),
+                harshScan
+        );
+    }
 
+    public static boolean isStandable(BlockState state, BlockState below, BlockState above, boolean harshScan) {
         boolean valid = state.isAir() &&
                 above.isAir() &&
                 below.blocksMotion() &&
@@ -88,25 +164,66 @@ public class TeleportPositionHelper {
         return chunks;
     }
 
-    public static ChunkPos generateNewChunk(ServerLevel level) {
+    /**
+     * Picks a random target chunk in teleport range that is not loaded and has not been
+     * used or rejected before, and records it as used.
+     * Each noise pre-filter evaluation draws from the work governor at the given priority;
+     * once the budget is spent, candidates are accepted unfiltered and left to the scan.
+     * Must be called on the server thread.
+     */
+    public static ChunkPos generateNewChunk(ServerLevel level, WorkPriority priority) {
         ThreadLocalRandom rand = ThreadLocalRandom.current();
+        VisitedChunksSavedData visited = VisitedChunksSavedData.get(level);
+
+        ChunkPos chunk = generateNewChunk(
+                rand,
+                packed -> !visited.isKnown(packed) && !level.hasChunk(ChunkPos.getX(packed), ChunkPos.getZ(packed)),
+                packed -> {
+                    if (!WorkGovernor.tryAcquire(priority, WorkGovernor.COST_PREFILTER)) return true;
+                    if (CandidatePreFilter.isPlausible(level, ChunkPos.getX(packed), ChunkPos.getZ(packed))) return true;
+                    visited.markFailed(packed);
+                    return false;
+                }
+        );
+        if (chunk != null) {
+            visited.markUsed(chunk.toLong());
+            return chunk;
+        }
+
+        int range = TeleportConstants.TELEPORT_RANGE / 16;
+        return new ChunkPos(rand.nextInt(-range, range + 1), rand.nextInt(-range, range + 1));
+    }
+
+    /**
+     * Level-independent candidate search behind {@link #generateNewChunk(ServerLevel, WorkPriority)}.
+     * @param rand Source of candidate coordinates
+     * @param isAvailable Tests a packed chunk position for being unused and unloaded
+     * @param isPlausible Pre-filter for available candidates, only asked for the first
+     *                    {@link TeleportConstants#PREFILTER_MAX_CANDIDATES} of them
+     * @return Accepted chunk, or null if none was found within the attempt budget
+     */
+    public static ChunkPos generateNewChunk(RandomGenerator rand, LongPredicate isAvailable, LongPredicate isPlausible) {
         int range = TeleportConstants.TELEPORT_RANGE / 16;
         int attempts = 0;
+        int filtered = 0;
 
         do {
-            ChunkPos newChunk = new ChunkPos(
-                    rand.nextInt(-range, range + 1),
-                    rand.nextInt(-range, range + 1)
-            );
-
-            if (!TeleportManager.CHUNK_CACHE.containsKey(newChunk) &&
-                    !level.hasChunk(newChunk.x, newChunk.z)) {
-                TeleportManager.CHUNK_CACHE.put(newChunk, true);
-                return newChunk;
-            }
+            int x = rand.nextInt(-range, range + 1);
+            int z = rand.nextInt(-range, range + 1);
+            long packed = ChunkPos.asLong(x, z);
             attempts++;
+
+            if (!isAvailable.test(packed)) continue;
+
+            // Sampling the noise is cheap next to worldgen, but still bounded per call
+            if (filtered < TeleportConstants.PREFILTER_MAX_CANDIDATES) {
+                filtered++;
+                if (!isPlausible.test(packed)) continue;
+            }
+
+            return new ChunkPos(x, z);
         } while (attempts < 100);
 
-        return new ChunkPos(rand.nextInt(-range, range + 1), rand.nextInt(-range, range + 1));
+        return null;
     }
-}
\ No newline at end of file
+}
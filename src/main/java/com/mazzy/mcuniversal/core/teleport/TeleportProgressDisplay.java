@@ -0,0 +1,177 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import com.mazzy.mcuniversal.config.McUniversalConfig;
+import com.mazzy.mcuniversal.core.governor.WorkGovernor;
+import com.mazzy.mcuniversal.core.governor.WorkPriority;
+import com.mazzy.mcuniversal.network.NetworkHandler;
+import com.mazzy.mcuniversal.network.TeleportHudPacket;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerBossEvent;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.BossEvent;
+import net.minecraftforge.common.util.FakePlayer;
+
+/**
+ * Player-facing feedback for one teleport: the progress display and the warmup particles.
+ * Clients with the mod get a {@link TeleportHudPacket} per visible change, others fall back
+ * to a boss bar. Updates are coalesced so packets only go out when the player would see a
+ * difference: progress is quantized, names are built once per distinct value, and particles
+ * are sent in bursts on an interval instead of every tick.
+ * Only used from the server thread.
+ */
+public class TeleportProgressDisplay {
+    // Number of visible progress steps, a boss bar is rarely wider than this many pixels per step
+    private static final int PROGRESS_STEPS = 50;
+
+    private static final Component INITIALIZING = Component.literal("Initializing teleport");
+    private static final Component SCANNING = Component.literal("Scanning for safe position...");
+    private static final Component PREPARING = Component.literal("Preparing area...");
+
+    private final ServerPlayer player;
+    // Null when the client renders the HUD itself
+    private final ServerBossEvent bossBar;
+
+    private TeleportHudPacket.Phase hudPhase = TeleportHudPacket.Phase.HIDDEN;
+    private int hudValue;
+    private int progressStep = -1;
+    // Last values the preparing name was built from
+    private int preparingLoaded = -1;
+    private int preparingTotal = -1;
+    private int preparingSeconds = -1;
+    private int effectTicks;
+
+    public TeleportProgressDisplay(ServerPlayer player) {
+        this.player = player;
+        if (useClientHud(player)) {
+            this.bossBar = null;
+            setHud(TeleportHudPacket.Phase.INITIALIZING, 0);
+        } else {
+            this.bossBar = new ServerBossEvent(INITIALIZING, BossEvent.BossBarColor.BLUE, BossEvent.BossBarOverlay.PROGRESS);
+            this.bossBar.addPlayer(player);
+        }
+    }
+
+    public void showQueued(int position) {
+        if (bossBar == null) {
+            setHud(TeleportHudPacket.Phase.QUEUED, position);
+        } else {
+            bossBar.setName(Component.literal("Queued for teleport (#" + position + ")"));
+        }
+    }
+
+    public void showInitializing() {
+        if (bossBar == null) {
+            setHud(TeleportHudPacket.Phase.INITIALIZING, 0);
+        } else {
+            bossBar.setName(INITIALIZING);
+        }
+    }
+
+    public void showScanning() {
+        if (bossBar == null) {
+            setHud(TeleportHudPacket.Phase.SCANNING, 0);
+        } else {
+            bossBar.setName(SCANNING);
+        }
+    }
+
+    public void showPreparing() {
+        preparingLoaded = -1;
+        if (bossBar == null) {
+            setHud(TeleportHudPacket.Phase.PREPARING, 0);
+        } else {
+            bossBar.setName(PREPARING);
+        }
+    }
+
+    /**
+     * Shows area loading progress and the warp countdown, rebuilding the name only when
+     * one of the displayed numbers changes.
+     * @param ticksLeft Warmup ticks until the warp
+     */
+    public void showPreparing(int loaded, int total, int ticksLeft) {
+        int seconds = (ticksLeft + 19) / 20;
+        if (loaded == preparingLoaded && total == preparingTotal && seconds == preparingSeconds) return;
+
+        preparingLoaded = loaded;
+        preparingTotal = total;
+        preparingSeconds = seconds;
+        if (bossBar == null) {
+            // The HUD carries the countdown only, the chunk count is folded into the progress
+            setHud(TeleportHudPacket.Phase.PREPARING, seconds);
+        } else {
+            bossBar.setName(Component.literal("Preparing area (" + loaded + "/" + total + ") | Warping in " + seconds + "s"));
+        }
+    }
+
+    /** @param progress Overall progress between 0 and 1 */
+    public void setProgress(float progress) {
+        int step = Math.round(Math.max(0, Math.min(1, progress)) * PROGRESS_STEPS);
+        if (step == progressStep || !allowCosmetic()) return;
+
+        progressStep = step;
+        if (bossBar == null) {
+            sendHud();
+        } else {
+            bossBar.setProgress((float) step / PROGRESS_STEPS);
+        }
+    }
+
+    /** Sends a burst of warmup particles every configured number of ticks */
+    public void tickEffects() {
+        int interval = McUniversalConfig.TELEPORT_EFFECT_INTERVAL.get();
+        if (interval <= 0 || ++effectTicks < interval) return;
+        effectTicks = 0;
+        if (!allowCosmetic()) return;
+
+        ServerLevel level = (ServerLevel) player.level();
+        level.sendParticles(
+                player,
+                ParticleTypes.PORTAL,
+                true,
+                player.getX(),
+                player.getY() + 1,
+                player.getZ(),
+                10,
+                0.5,
+                0.5,
+                0.5,
+                0.2
+        );
+    }
+
+    public void close() {
+        if (bossBar == null) {
+            setHud(TeleportHudPacket.Phase.HIDDEN, 0);
+        } else {
+            bossBar.removeAllPlayers();
+        }
+    }
+
+    private void setHud(TeleportHudPacket.Phase phase, int value) {
+        if (phase == hudPhase && value == hudValue) return;
+        hudPhase = phase;
+        hudValue = value;
+        sendHud();
+    }
+
+    private void sendHud() {
+        // A player who logged out mid-teleport has no connection left to send to
+        if (player.hasDisconnected()) return;
+        int progress = Math.max(progressStep, 0) * TeleportHudPacket.PROGRESS_SCALE / PROGRESS_STEPS;
+        NetworkHandler.sendToPlayer(new TeleportHudPacket(hudPhase, progress, hudValue), player);
+    }
+
+    private static boolean useClientHud(ServerPlayer player) {
+        return McUniversalConfig.TELEPORT_CLIENT_HUD.get() &&
+                !(player instanceof FakePlayer) &&
+                NetworkHandler.hasModChannel(player);
+    }
+
+    private static boolean allowCosmetic() {
+        return WorkGovernor.tryAcquire(WorkPriority.COSMETIC, WorkGovernor.COST_EFFECT) ||
+                !McUniversalConfig.TELEPORT_DROP_EFFECTS_OVER_BUDGET.get();
+    }
+}
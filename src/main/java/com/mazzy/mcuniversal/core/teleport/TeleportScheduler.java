@@ -0,0 +1,116 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import com.mazzy.mcuniversal.McUniversal;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Drives every {@link TeleportTask} from the server tick.
+ * Tasks are kept in a tick-indexed timing wheel, so re-arming a task for a later tick
+ * is an array append instead of a parked executor job.
+ */
+@Mod.EventBusSubscriber(modid = McUniversal.MODID)
+public class TeleportScheduler {
+    // Number of wheel slots, must be a power of two
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    // Ticks between timeout sweeps over all active tasks
+    private static final int SWEEP_INTERVAL = 20;
+
+    @SuppressWarnings("unchecked")
+    private static final List<TeleportTask>[] WHEEL = new List[WHEEL_SIZE];
+    // Schedule requests coming from worker threads or from outside the tick loop
+    private static final Queue<TeleportTask> INCOMING = new ConcurrentLinkedQueue<>();
+
+    private static volatile long currentTick;
+
+    static {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            WHEEL[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Runs the task's next step after the given number of ticks.
+     * A task already waiting in the wheel keeps its existing slot.
+     * Safe to call from any thread.
+     * @param task Task to re-arm
+     * @param delay Ticks to wait, 0 runs it on the next tick
+     */
+    public static void schedule(TeleportTask task, int delay) {
+        task.requestedWakeTick = currentTick + Math.max(delay, 0);
+        INCOMING.add(task);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        currentTick++;
+        drainIncoming();
+
+        if (currentTick % SWEEP_INTERVAL == 0) {
+            TeleportManager.sweepExpired();
+        }
+
+        List<TeleportTask> slot = WHEEL[(int) (currentTick & WHEEL_MASK)];
+        if (slot.isEmpty()) return;
+
+        List<TeleportTask> due = new ArrayList<>(slot.size());
+        for (int i = 0; i < slot.size(); i++) {
+            TeleportTask task = slot.get(i);
+            if (task.wakeTick <= currentTick) {
+                due.add(task);
+            }
+        }
+        slot.removeIf(task -> task.wakeTick <= currentTick);
+
+        for (TeleportTask task : due) {
+            task.queued = false;
+            try {
+                TeleportManager.runTask(task);
+            } catch (RuntimeException e) {
+                // One broken task must not drop the rest of the slot or escape into the server tick
+                McUniversal.LOGGER.error("Teleport task for {} failed", task.player.getGameProfile().getName(), e);
+                TeleportManager.abortTask(task);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        INCOMING.clear();
+        TeleportManager.ACTIVE_TELEPORTS.clear();
+        for (List<TeleportTask> slot : WHEEL) {
+            slot.clear();
+        }
+    }
+
+    /** @return Number of tasks waiting in the wheel */
+    public static int pendingCount() {
+        int count = 0;
+        for (List<TeleportTask> slot : WHEEL) {
+            count += slot.size();
+        }
+        return count;
+    }
+
+    private static void drainIncoming() {
+        TeleportTask task;
+        while ((task = INCOMING.poll()) != null) {
+            if (task.queued) continue;
+            task.queued = true;
+            // Anything already due runs in the current slot
+            long wake = Math.max(task.requestedWakeTick, currentTick);
+            task.wakeTick = wake;
+            WHEEL[(int) (wake & WHEEL_MASK)].add(task);
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.mazzy.mcuniversal.core.teleport;
 
+import com.mazzy.mcuniversal.core.metrics.TeleportMetrics;
+import com.mazzy.mcuniversal.diagnostics.TeleportPhaseEvent;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.core.BlockPos;
-import net.minecraft.server.level.ServerBossEvent;
 import java.util.List;
 
 public class TeleportTask {
@@ -18,10 +19,12 @@ public class TeleportTask {
     public int warmupTicks;
     public int retries;
     public boolean harshScan;
-    public ServerBossEvent bossBar;
+    public TeleportProgressDisplay display;
     public long startTime;
     public BlockPos startPos;
     public BlockPos foundPos;
+    public BlockPos pooledPos;
+    public final TeleportTicketManager.Holder tickets = new TeleportTicketManager.Holder();
 
     public enum Phase {
         CHUNK_PREP,      // Loading initial target chunk
@@ -33,6 +36,27 @@ public class TeleportTask {
     public Phase phase = Phase.CHUNK_PREP;
     public int totalChunksToLoad;
     public int chunksLoadedPostScan;
+    public int chunksRequestedPostScan;
+    public boolean awaitingChunk;
+    // Target chunk is only generated to STAGED_CANDIDATE_STATUS and still needs upgrading
+    public boolean staged;
+    public ChunkSnapshot snapshot;
+
+    // Admission bookkeeping, owned by TeleportAdmissionQueue
+    boolean admitted;
+    int queuePosition;
+
+    // Metrics bookkeeping
+    long createdNanos;
+    long admittedNanos;
+    long phaseStartNanos;
+    TeleportMetrics.Outcome outcome;
+    TeleportPhaseEvent phaseEvent;
+
+    // Scheduler bookkeeping, owned by TeleportScheduler
+    volatile long requestedWakeTick;
+    long wakeTick;
+    boolean queued;
 
     public boolean validate() {
         return TeleportManager.validateTask(this);
@@ -0,0 +1,93 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import com.mazzy.mcuniversal.McUniversal;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Owns every chunk ticket the mod adds for teleports.
+ * Tickets are reference counted per chunk and distance, so overlapping tasks share one
+ * vanilla ticket and it is only removed once the last holder lets go.
+ * All methods must be called on the server thread.
+ */
+@Mod.EventBusSubscriber(modid = McUniversal.MODID)
+public class TeleportTicketManager {
+    static final TicketType<ChunkPos> TELEPORT_TICKET = TicketType.create("mcuniversal_teleport", Comparator.comparingLong(ChunkPos::toLong));
+
+    private record TicketKey(ServerLevel level, long chunk, int distance) {}
+
+    private static final Map<TicketKey, Integer> REF_COUNTS = new HashMap<>();
+
+    /**
+     * Tracks the tickets taken by one owner, such as a teleport task or a scout job.
+     */
+    public static class Holder {
+        private final Set<TicketKey> held = new LinkedHashSet<>();
+
+        /** Takes a reference on the ticket, adding the vanilla ticket if nobody held it yet */
+        public void hold(ServerLevel level, ChunkPos pos, int distance) {
+            TicketKey key = new TicketKey(level, pos.toLong(), distance);
+            if (!held.add(key)) return;
+
+            if (REF_COUNTS.merge(key, 1, Integer::sum) == 1) {
+                level.getChunkSource().addRegionTicket(TELEPORT_TICKET, pos, distance, pos);
+            }
+        }
+
+        /** Drops this holder's reference on the ticket, if it had one */
+        public void release(ServerLevel level, ChunkPos pos, int distance) {
+            TicketKey key = new TicketKey(level, pos.toLong(), distance);
+            if (held.remove(key)) {
+                unref(key);
+            }
+        }
+
+        /** Drops every reference this holder still has */
+        public void releaseAll() {
+            for (TicketKey key : held) {
+                unref(key);
+            }
+            held.clear();
+        }
+
+        public int size() {
+            return held.size();
+        }
+    }
+
+    /** @return Number of distinct mod-owned tickets currently added to the chunk system */
+    public static int getLiveTicketCount() {
+        return REF_COUNTS.size();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        if (!REF_COUNTS.isEmpty()) {
+            McUniversal.LOGGER.debug("Dropping {} teleport tickets on shutdown", REF_COUNTS.size());
+        }
+        REF_COUNTS.clear();
+    }
+
+    private static void unref(TicketKey key) {
+        Integer count = REF_COUNTS.get(key);
+        if (count == null) return;
+
+        if (count > 1) {
+            REF_COUNTS.put(key, count - 1);
+        } else {
+            REF_COUNTS.remove(key);
+            ChunkPos pos = new ChunkPos(key.chunk());
+            key.level().getChunkSource().removeRegionTicket(TELEPORT_TICKET, pos, key.distance(), pos);
+        }
+    }
+}
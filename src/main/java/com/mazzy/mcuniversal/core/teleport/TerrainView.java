@@ -0,0 +1,45 @@
+package com.mazzy.mcuniversal.core.teleport;
+
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+/**
+ * Read-only view of one chunk column, which is all the position scanner needs.
+ * Implemented by {@link ChunkSnapshot} for off-thread scans, {@link LiveChunkView} for
+ * scans on the server thread, and {@link SyntheticTerrain} for terrain built in memory.
+ * Block coordinates are local x/z and absolute y.
+ */
+public interface TerrainView {
+    ChunkPos getPos();
+
+    int getMinBuildHeight();
+
+    int getMaxBuildHeight();
+
+    boolean isOverworld();
+
+    boolean hasCeiling();
+
+    /** @return Block state at local x/z and absolute y, air outside the build range */
+    BlockState getBlockState(int x, int y, int z);
+
+    /** @return Y of the topmost block of the heightmap at local x/z, or one below the build range for an empty column */
+    int getHeight(Heightmap.Types type, int x, int z);
+
+    /** @return True if the section containing y is known to hold only air */
+    default boolean isSectionEmpty(int y) {
+        return false;
+    }
+
+    /** @return False if the section containing y is known to hold no air at all */
+    default boolean sectionMayHaveAir(int y) {
+        return true;
+    }
+
+    /** @return Lowest block y of the section containing y */
+    default int getSectionBottom(int y) {
+        return SectionPos.sectionToBlockCoord(SectionPos.blockToSectionCoord(y));
+    }
+}
@@ -0,0 +1,60 @@
+package com.mazzy.mcuniversal.data;
+
+import com.mazzy.mcuniversal.diagnostics.SavedDataSaveEvent;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.saveddata.SavedData;
+
+import java.io.File;
+
+/**
+ * SavedData whose file is written off the server thread.
+ * On save only a plain copy of the state is taken, which {@link SavedDataWriter} turns into
+ * NBT, compresses and writes on its own thread. The autosave therefore costs a copy of the
+ * data instead of building and compressing its whole NBT tree.
+ */
+public abstract class AsyncSavedData extends SavedData {
+
+    /**
+     * Immutable copy of the data's state, safe to serialize from any thread
+     */
+    protected interface Snapshot {
+        /** @return Number of top level records, for diagnostics */
+        int size();
+
+        /** Writes the copied state in the same layout as {@link SavedData#save(CompoundTag)} */
+        void write(CompoundTag compound);
+    }
+
+    /** @return Name the data is registered under, also used as its file name */
+    protected abstract String getDataName();
+
+    /**
+     * Copies the current state.
+     * Called on the server thread.
+     */
+    protected abstract Snapshot snapshot();
+
+    @Override
+    public CompoundTag save(CompoundTag compound) {
+        snapshot().write(compound);
+        return compound;
+    }
+
+    /**
+     * Takes a snapshot and hands it to the background writer instead of writing in place
+     * @param file Target file chosen by the level's data storage
+     */
+    @Override
+    public void save(File file) {
+        if (!isDirty()) return;
+
+        SavedDataSaveEvent event = new SavedDataSaveEvent();
+        event.begin();
+        // Cleared first, so a change racing the copy marks the data dirty again instead of being lost
+        setDirty(false);
+        Snapshot snapshot = snapshot();
+        event.finish(getDataName(), SavedDataSaveEvent.STAGE_SNAPSHOT, snapshot.size(), 0);
+
+        SavedDataWriter.submit(this, file, snapshot);
+    }
+}
@@ -1,39 +1,64 @@
 package com.mazzy.mcuniversal.data;
 
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.level.saveddata.SavedData;
 import net.minecraft.core.BlockPos;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * Manages persistent storage of custom spawn points in special dimensions
- * Tracks usage status to prevent spawn point reuse
+ * Tracks usage status to prevent spawn point reuse.
+ * Spawns are kept as packed positions with a parallel used bitset, and a cursor below which
+ * every spawn is used, so claiming and peeking never rescan the used prefix. Policies other
+ * than {@link SpawnAssignmentPolicy#SEQUENTIAL} go through a {@link SpawnGrid} built on demand.
+ * Only used from the server thread.
  */
-public class ExtraSpawnsSavedData extends SavedData {
+public class ExtraSpawnsSavedData extends AsyncSavedData {
     // Persistent storage identifier
     private static final String DATA_NAME = "mcuniversal_extra_spawns";
+    // Layout written by save; files without a version hold the original compound list
+    private static final int FORMAT_VERSION = 2;
 
-    /** Represents a single spawn point with usage state */
+    /** A spawn point handed out by the allocator */
     public static class SpawnEntry {
-        public int x;
-        public int y;
-        public int z;
-        public boolean used; // True if this spawn has been claimed
+        public final int index; // Position in the spawn list, used to release the spawn
+        public final int x;
+        public final int y;
+        public final int z;
 
-        public SpawnEntry(int x, int y, int z, boolean used) {
+        public SpawnEntry(int index, int x, int y, int z) {
+            this.index = index;
             this.x = x;
             this.y = y;
             this.z = z;
-            this.used = used;
+        }
+
+        public BlockPos getPos() {
+            return new BlockPos(x, y, z);
         }
     }
 
-    private final List<SpawnEntry> spawnList = new ArrayList<>();
+    // Spawn positions packed with BlockPos.asLong, valid up to spawnCount
+    private long[] positions = new long[16];
+    private int spawnCount;
+    // Every position in the pool, so the same spot is never handed out twice
+    private final LongSet knownPositions = new LongOpenHashSet();
+    private final BitSet used = new BitSet();
+    private int usedCount;
+    // Every spawn below this index is used
+    private int nextFree;
+    // Built on the first spread or nearest claim
+    private SpawnGrid grid;
 
     /**
      * Gets or creates the spawn data for a dimension
@@ -52,72 +77,103 @@ public class ExtraSpawnsSavedData extends SavedData {
     public ExtraSpawnsSavedData() {}
 
     /**
-     * Loads spawn data from NBT storage
+     * Loads spawn data from NBT storage, migrating the legacy layout if needed
      * @param tag Contains serialized spawn entries
      * @return Populated data instance
      */
     public static ExtraSpawnsSavedData load(CompoundTag tag) {
         ExtraSpawnsSavedData data = new ExtraSpawnsSavedData();
-        ListTag spawnEntries = tag.getList("spawns", Tag.TAG_COMPOUND);
 
-        // Reconstruct spawn list from saved NBT data
+        if (tag.getInt("version") >= FORMAT_VERSION) {
+            long[] packed = tag.getLongArray("positions");
+            data.positions = packed.length > 0 ? packed : data.positions;
+            data.spawnCount = packed.length;
+            data.knownPositions.addAll(LongArrayList.wrap(packed));
+            data.used.or(BitSet.valueOf(tag.getLongArray("used")));
+            // Bits past the spawn list would only come from a damaged file
+            data.used.clear(data.spawnCount, Math.max(data.spawnCount, data.used.length()));
+            data.usedCount = data.used.cardinality();
+            return data;
+        }
+
+        // Reconstruct spawn list from the original one-compound-per-spawn layout
+        ListTag spawnEntries = tag.getList("spawns", Tag.TAG_COMPOUND);
         for (Tag t : spawnEntries) {
             if (t instanceof CompoundTag c) {
-                data.spawnList.add(new SpawnEntry(
-                        c.getInt("x"),
-                        c.getInt("y"),
-                        c.getInt("z"),
-                        c.getBoolean("used")
-                ));
+                int index = data.append(BlockPos.asLong(c.getInt("x"), c.getInt("y"), c.getInt("z")));
+                if (c.getBoolean("used")) {
+                    data.used.set(index);
+                    data.usedCount++;
+                }
             }
         }
+
+        // Rewrite legacy files in the packed layout on the next save
+        if (!spawnEntries.isEmpty()) {
+            data.setDirty();
+        }
         return data;
     }
 
-    /**
-     * Saves spawn data to NBT format
-     * @param compound Tag to write data into
-     * @return Modified compound with spawn data
-     */
     @Override
-    public CompoundTag save(CompoundTag compound) {
-        ListTag list = new ListTag();
-
-        // Serialize all spawn entries
-        for (SpawnEntry entry : spawnList) {
-            CompoundTag c = new CompoundTag();
-            c.putInt("x", entry.x);
-            c.putInt("y", entry.y);
-            c.putInt("z", entry.z);
-            c.putBoolean("used", entry.used);
-            list.add(c);
+    protected String getDataName() {
+        return DATA_NAME;
+    }
+
+    /** Copies the packed positions and the used bitset words, two array copies */
+    @Override
+    protected Snapshot snapshot() {
+        return new SpawnsSnapshot(Arrays.copyOf(positions, spawnCount), used.toLongArray());
+    }
+
+    /** Saved layout: packed positions and the used bitset as long arrays */
+    private record SpawnsSnapshot(long[] positions, long[] used) implements Snapshot {
+        @Override
+        public int size() {
+            return positions.length;
+        }
+
+        @Override
+        public void write(CompoundTag compound) {
+            compound.putInt("version", FORMAT_VERSION);
+            compound.put("positions", new LongArrayTag(positions));
+            compound.put("used", new LongArrayTag(used));
         }
-        compound.put("spawns", list);
-        return compound;
     }
 
     /**
      * Registers a new spawn point
      * @param pos Location to add as spawn point
+     * @return False if the position is already in the pool
      */
-    public void addSpawn(BlockPos pos) {
-        spawnList.add(new SpawnEntry(pos.getX(), pos.getY(), pos.getZ(), false));
+    public boolean addSpawn(BlockPos pos) {
+        if (knownPositions.contains(pos.asLong())) return false;
+        append(pos.asLong());
         setDirty(); // Mark data for saving
+        return true;
     }
 
     /**
      * Claims the first available unused spawn point
-     * @return SpawnEntry with marked usage, or null if none available
+     * @return Claimed SpawnEntry, or null if none available
      */
     public SpawnEntry claimFreeSpawn() {
-        for (SpawnEntry entry : spawnList) {
-            if (!entry.used) {
-                entry.used = true;
-                setDirty(); // Mark data for saving
-                return entry;
-            }
-        }
-        return null;
+        return claim(findFree());
+    }
+
+    /**
+     * Claims a free spawn chosen by the given policy
+     * @param near Target of {@link SpawnAssignmentPolicy#NEAR_CAPITAL}, spread assignment is used when null
+     * @return Claimed SpawnEntry, or null if none available
+     */
+    public SpawnEntry claimFreeSpawn(SpawnAssignmentPolicy policy, BlockPos near) {
+        return switch (policy) {
+            case SEQUENTIAL -> claimFreeSpawn();
+            case SPREAD -> claim(getGrid().nextSpread(used));
+            case NEAR_CAPITAL -> near == null ?
+                    claim(getGrid().nextSpread(used)) :
+                    claim(getGrid().nearest(used, positions, near.getX(), near.getZ()));
+        };
     }
 
     /**
@@ -125,11 +181,132 @@ public class ExtraSpawnsSavedData extends SavedData {
      * @return First unused SpawnEntry or null
      */
     public SpawnEntry peekFreeSpawn() {
-        for (SpawnEntry entry : spawnList) {
-            if (!entry.used) {
-                return entry;
+        int index = findFree();
+        return index < 0 ? null : entryAt(index);
+    }
+
+    /**
+     * Lists the spawns the policy is expected to hand out next, without claiming them.
+     * Nearest assignment depends on the player, so it is predicted with the spread order
+     * used for players without a nation.
+     * @param limit Maximum number of spawns to list
+     * @return Up to limit free spawns, soonest first
+     */
+    public List<SpawnEntry> peekFreeSpawns(SpawnAssignmentPolicy policy, int limit) {
+        List<SpawnEntry> entries = new ArrayList<>(Math.min(limit, getFreeCount()));
+        if (policy == SpawnAssignmentPolicy.SEQUENTIAL) {
+            for (int index = used.nextClearBit(nextFree); index < spawnCount && entries.size() < limit;
+                 index = used.nextClearBit(index + 1)) {
+                entries.add(entryAt(index));
+            }
+        } else {
+            getGrid().peekSpread(used, limit, index -> entries.add(entryAt(index)));
+        }
+        return entries;
+    }
+
+    /**
+     * Returns a claimed spawn to the pool
+     * @return False if the spawn was not claimed
+     */
+    public boolean releaseSpawn(int index) {
+        if (index < 0 || index >= spawnCount || !used.get(index)) return false;
+
+        used.clear(index);
+        usedCount--;
+        nextFree = Math.min(nextFree, index);
+        if (grid != null) {
+            grid.released(positions[index]);
+        }
+        setDirty();
+        return true;
+    }
+
+    /**
+     * Returns the claimed spawn at a position to the pool
+     * @return False if the position is not a claimed spawn
+     */
+    public boolean releaseSpawnAt(BlockPos pos) {
+        long packed = pos.asLong();
+        if (!knownPositions.contains(packed)) return false;
+
+        for (int i = 0; i < spawnCount; i++) {
+            if (positions[i] == packed) return releaseSpawn(i);
+        }
+        return false;
+    }
+
+    /**
+     * Drops every spawn from the given index on, claimed or not, undoing the spawns added
+     * since {@link #getSpawnCount()} returned count
+     */
+    public void truncate(int count) {
+        if (count < 0 || count >= spawnCount) return;
+
+        for (int i = count; i < spawnCount; i++) {
+            knownPositions.remove(positions[i]);
+        }
+        usedCount -= used.get(count, spawnCount).cardinality();
+        used.clear(count, spawnCount);
+        spawnCount = count;
+        nextFree = Math.min(nextFree, count);
+        // Cells may still list dropped spawns, rebuilt on the next claim
+        grid = null;
+        setDirty();
+    }
+
+    public int getSpawnCount() {
+        return spawnCount;
+    }
+
+    public int getFreeCount() {
+        return spawnCount - usedCount;
+    }
+
+    /** @return Index of the first unused spawn, or -1 if all are used */
+    private int findFree() {
+        // Only the stretch since the last claim is scanned, and BitSet skips 64 used spawns per word
+        int index = used.nextClearBit(nextFree);
+        nextFree = index;
+        return index < spawnCount ? index : -1;
+    }
+
+    private SpawnEntry claim(int index) {
+        if (index < 0) return null;
+
+        used.set(index);
+        usedCount++;
+        if (index == nextFree) {
+            nextFree++;
+        }
+        setDirty(); // Mark data for saving
+        return entryAt(index);
+    }
+
+    private int append(long packedPos) {
+        if (spawnCount == positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+        }
+        positions[spawnCount] = packedPos;
+        knownPositions.add(packedPos);
+        if (grid != null) {
+            grid.add(spawnCount, packedPos);
+        }
+        return spawnCount++;
+    }
+
+    private SpawnGrid getGrid() {
+        if (grid == null) {
+            grid = new SpawnGrid();
+            for (int i = 0; i < spawnCount; i++) {
+                grid.add(i, positions[i]);
             }
         }
-        return null;
+        return grid;
+    }
+
+    private SpawnEntry entryAt(int index) {
+        long packed = positions[index];
+        return new SpawnEntry(index, BlockPos.getX(packed), BlockPos.getY(packed), BlockPos.getZ(packed));
     }
-}
\ No newline at end of file
+}
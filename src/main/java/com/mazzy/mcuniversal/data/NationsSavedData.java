@@ -2,41 +2,56 @@ package com.mazzy.mcuniversal.data;
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
 import net.minecraft.nbt.StringTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.level.saveddata.SavedData;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
- * Persistent storage for nation/faction data in a world
+ * Persistent storage for nation/faction data in a world.
+ * Nations are indexed by id, by lowercase name and by member, so every lookup is a
+ * single hash probe. A player belongs to at most one nation.
+ * Only used from the server thread; saving copies the nations for the background writer.
  */
-public class NationsSavedData extends SavedData {
+public class NationsSavedData extends AsyncSavedData {
 
     // Unique identifier for saving/loading this data
     private static final String DATA_NAME = "mcuniversal_nations";
+    // Layout written by save; files without a version use the original string layout
+    private static final int FORMAT_VERSION = 2;
 
     /**
-     * Represents a single nation/faction entity
+     * Represents a single nation/faction entity.
+     * Changes made through an entry keep the owning data's indexes up to date.
      */
     public static class NationEntry {
         private final UUID nationId;
         private String name;
         private BlockPos capital;
-        private final List<String> members; // Stores player UUIDs as strings
+        private final Set<UUID> members;
+        // Set once the entry is registered, null for detached entries
+        private NationsSavedData owner;
 
-        public NationEntry(UUID nationId, String name, BlockPos capital, List<String> members) {
+        public NationEntry(UUID nationId, String name, BlockPos capital, Collection<UUID> members) {
             this.nationId = nationId;
             this.name = name;
             this.capital = capital;
-            this.members = new ArrayList<>(members);
+            this.members = new LinkedHashSet<>(members);
         }
 
-        // Accessors (maintained exactly as original)
         public UUID getNationId() {
             return nationId;
         }
@@ -45,8 +60,14 @@ public class NationsSavedData extends SavedData {
             return name;
         }
 
-        public void setName(String name) {
+        /**
+         * Renames the nation
+         * @return False if another nation already uses the name
+         */
+        public boolean setName(String name) {
+            if (owner != null && !owner.rename(this, name)) return false;
             this.name = name;
+            return true;
         }
 
         public BlockPos getCapital() {
@@ -55,25 +76,38 @@ public class NationsSavedData extends SavedData {
 
         public void setCapital(BlockPos capital) {
             this.capital = capital;
+            if (owner != null) owner.setDirty();
         }
 
-        public List<String> getMembers() {
-            return members;
+        /** @return Read-only view of the member UUIDs */
+        public Set<UUID> getMembers() {
+            return Collections.unmodifiableSet(members);
         }
 
-        public void addMember(String memberId) {
-            if (!members.contains(memberId)) {
-                members.add(memberId);
-            }
+        public boolean hasMember(UUID memberId) {
+            return members.contains(memberId);
+        }
+
+        /**
+         * Adds a player to the nation
+         * @return False if the player already belongs to this or another nation
+         */
+        public boolean addMember(UUID memberId) {
+            if (owner != null && !owner.claimMember(this, memberId)) return false;
+            return members.add(memberId);
         }
 
-        public void removeMember(String memberId) {
-            members.remove(memberId);
+        public boolean removeMember(UUID memberId) {
+            if (!members.remove(memberId)) return false;
+            if (owner != null) owner.releaseMember(memberId);
+            return true;
         }
     }
 
-    // Main data store for all nations
-    private final List<NationEntry> nations = new ArrayList<>();
+    // Nations by id, in creation order
+    private final Map<UUID, NationEntry> nations = new LinkedHashMap<>();
+    private final Map<UUID, NationEntry> nationsByMember = new HashMap<>();
+    private final Map<String, NationEntry> nationsByName = new HashMap<>();
 
     /**
      * Get or create the nations data for a world
@@ -90,11 +124,15 @@ public class NationsSavedData extends SavedData {
     }
 
     /**
-     * Create a new nation with generated UUID
+     * Create a new nation with generated UUID.
+     * Members who already belong to a nation stay where they are.
+     * @return Id of the new nation, or null if the name is taken
      */
-    public UUID createNation(String name, BlockPos capital, List<String> members) {
+    public UUID createNation(String name, BlockPos capital, Collection<UUID> members) {
+        if (nationsByName.containsKey(nameKey(name))) return null;
+
         UUID newNationId = UUID.randomUUID();
-        nations.add(new NationEntry(newNationId, name, capital, members));
+        register(new NationEntry(newNationId, name, capital, members));
         setDirty();
         return newNationId;
     }
@@ -103,110 +141,202 @@ public class NationsSavedData extends SavedData {
      * Find nation by its unique ID
      */
     public NationEntry getNationById(UUID nationId) {
-        for (NationEntry entry : nations) {
-            if (entry.getNationId().equals(nationId)) {
-                return entry;
-            }
-        }
-        return null;
+        return nations.get(nationId);
+    }
+
+    /**
+     * Find nation by name, ignoring case
+     */
+    public NationEntry getNationByName(String name) {
+        return nationsByName.get(nameKey(name));
     }
 
     /**
      * Remove a nation from the registry
      */
     public boolean removeNation(UUID nationId) {
-        for (int i = 0; i < nations.size(); i++) {
-            if (nations.get(i).getNationId().equals(nationId)) {
-                nations.remove(i);
-                setDirty();
-                return true;
-            }
+        NationEntry entry = nations.remove(nationId);
+        if (entry == null) return false;
+
+        nationsByName.remove(nameKey(entry.name), entry);
+        for (UUID member : entry.members) {
+            nationsByMember.remove(member, entry);
         }
-        return false;
+        entry.owner = null;
+        setDirty();
+        return true;
     }
 
     /**
-     * Get all registered nations
+     * Get all registered nations, in creation order
      */
-    public List<NationEntry> getAllNations() {
-        return nations;
+    public Collection<NationEntry> getAllNations() {
+        return Collections.unmodifiableCollection(nations.values());
     }
 
     /**
      * Find which nation a player belongs to
      */
     public NationEntry getNationByMember(UUID playerUUID) {
-        String playerUuidString = playerUUID.toString();
-        for (NationEntry entry : nations) {
-            if (entry.getMembers().contains(playerUuidString)) {
-                return entry;
-            }
-        }
-        return null;
+        return nationsByMember.get(playerUUID);
     }
 
     /**
-     * Load data from NBT storage
+     * Adds an entry and its members to the indexes. Members already claimed by an
+     * earlier nation are dropped from the entry, matching the one-nation rule.
+     */
+    private void register(NationEntry entry) {
+        entry.owner = this;
+        nations.put(entry.nationId, entry);
+        nationsByName.putIfAbsent(nameKey(entry.name), entry);
+        entry.members.removeIf(member -> nationsByMember.putIfAbsent(member, entry) != null);
+    }
+
+    private boolean rename(NationEntry entry, String name) {
+        NationEntry existing = nationsByName.get(nameKey(name));
+        if (existing != null && existing != entry) return false;
+
+        nationsByName.remove(nameKey(entry.name), entry);
+        nationsByName.put(nameKey(name), entry);
+        setDirty();
+        return true;
+    }
+
+    private boolean claimMember(NationEntry entry, UUID member) {
+        NationEntry existing = nationsByMember.putIfAbsent(member, entry);
+        if (existing != null) return false;
+        setDirty();
+        return true;
+    }
+
+    private void releaseMember(UUID member) {
+        nationsByMember.remove(member);
+        setDirty();
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Load data from NBT storage, migrating the legacy layout if needed
      */
     public static NationsSavedData load(CompoundTag compound) {
         NationsSavedData data = new NationsSavedData();
+        int version = compound.getInt("version");
         ListTag nationsListTag = compound.getList("nations", Tag.TAG_COMPOUND);
 
         for (Tag nationTag : nationsListTag) {
             if (nationTag instanceof CompoundTag nationCompound) {
-                // Handle legacy data without UUIDs
-                UUID nationId = nationCompound.hasUUID("nationId")
-                        ? nationCompound.getUUID("nationId")
-                        : UUID.randomUUID();
-
-                String name = nationCompound.getString("name");
-                int x = nationCompound.getInt("capitalX");
-                int y = nationCompound.getInt("capitalY");
-                int z = nationCompound.getInt("capitalZ");
-                BlockPos capitalPos = new BlockPos(x, y, z);
-
-                List<String> members = new ArrayList<>();
-                if (nationCompound.contains("members", Tag.TAG_LIST)) {
-                    ListTag membersList = nationCompound.getList("members", Tag.TAG_STRING);
-                    for (Tag memberTag : membersList) {
-                        if (memberTag instanceof StringTag stringMember) {
-                            members.add(stringMember.getAsString());
-                        }
+                data.register(version >= FORMAT_VERSION ?
+                        readEntry(nationCompound) :
+                        readLegacyEntry(nationCompound));
+            }
+        }
+
+        // Rewrite legacy files in the compact layout on the next save
+        if (version < FORMAT_VERSION && !nationsListTag.isEmpty()) {
+            data.setDirty();
+        }
+        return data;
+    }
+
+    private static NationEntry readEntry(CompoundTag nationCompound) {
+        long[] packedMembers = nationCompound.getLongArray("members");
+        Set<UUID> members = new LinkedHashSet<>();
+        for (int i = 0; i + 1 < packedMembers.length; i += 2) {
+            members.add(new UUID(packedMembers[i], packedMembers[i + 1]));
+        }
+
+        return new NationEntry(
+                nationCompound.getUUID("id"),
+                nationCompound.getString("name"),
+                BlockPos.of(nationCompound.getLong("capital")),
+                members
+        );
+    }
+
+    /** Reads the original layout: string members and one int tag per capital axis */
+    private static NationEntry readLegacyEntry(CompoundTag nationCompound) {
+        // Handle legacy data without UUIDs
+        UUID nationId = nationCompound.hasUUID("nationId")
+                ? nationCompound.getUUID("nationId")
+                : UUID.randomUUID();
+
+        String name = nationCompound.getString("name");
+        int x = nationCompound.getInt("capitalX");
+        int y = nationCompound.getInt("capitalY");
+        int z = nationCompound.getInt("capitalZ");
+        BlockPos capitalPos = new BlockPos(x, y, z);
+
+        Set<UUID> members = new LinkedHashSet<>();
+        if (nationCompound.contains("members", Tag.TAG_LIST)) {
+            ListTag membersList = nationCompound.getList("members", Tag.TAG_STRING);
+            for (Tag memberTag : membersList) {
+                if (memberTag instanceof StringTag stringMember) {
+                    try {
+                        members.add(UUID.fromString(stringMember.getAsString()));
+                    } catch (IllegalArgumentException ignored) {
+                        // Not a player UUID, nothing could ever match it
                     }
                 }
-
-                data.nations.add(new NationEntry(nationId, name, capitalPos, members));
             }
         }
-        return data;
+
+        return new NationEntry(nationId, name, capitalPos, members);
+    }
+
+    @Override
+    protected String getDataName() {
+        return DATA_NAME;
     }
 
     /**
-     * Save data to NBT format
+     * Copies every nation with its members packed into a long array, which is all the
+     * writer needs to build the NBT later.
      */
     @Override
-    public CompoundTag save(CompoundTag compound) {
-        ListTag nationsListTag = new ListTag();
-
-        for (NationEntry entry : nations) {
-            CompoundTag nationCompound = new CompoundTag();
-            nationCompound.putUUID("nationId", entry.getNationId());
-            nationCompound.putString("name", entry.getName());
-            BlockPos capital = entry.getCapital();
-            nationCompound.putInt("capitalX", capital.getX());
-            nationCompound.putInt("capitalY", capital.getY());
-            nationCompound.putInt("capitalZ", capital.getZ());
-
-            ListTag membersList = new ListTag();
-            for (String member : entry.getMembers()) {
-                membersList.add(StringTag.valueOf(member));
+    protected Snapshot snapshot() {
+        List<NationSnapshot> copies = new ArrayList<>(nations.size());
+        for (NationEntry entry : nations.values()) {
+            long[] packedMembers = new long[entry.members.size() * 2];
+            int i = 0;
+            for (UUID member : entry.members) {
+                packedMembers[i++] = member.getMostSignificantBits();
+                packedMembers[i++] = member.getLeastSignificantBits();
             }
-            nationCompound.put("members", membersList);
+            copies.add(new NationSnapshot(entry.nationId, entry.name, entry.capital.asLong(), packedMembers));
+        }
+        return new NationsSnapshot(copies);
+    }
+
+    private record NationSnapshot(UUID nationId, String name, long capital, long[] packedMembers) {}
 
-            nationsListTag.add(nationCompound);
+    /**
+     * Saved layout: each nation is its id as an int array, its name, its capital as a packed
+     * long and its members as one long array of most/least significant UUID halves.
+     */
+    private record NationsSnapshot(List<NationSnapshot> nations) implements Snapshot {
+        @Override
+        public int size() {
+            return nations.size();
         }
 
-        compound.put("nations", nationsListTag);
-        return compound;
+        @Override
+        public void write(CompoundTag compound) {
+            ListTag nationsListTag = new ListTag();
+
+            for (NationSnapshot nation : nations) {
+                CompoundTag nationCompound = new CompoundTag();
+                nationCompound.putUUID("id", nation.nationId());
+                nationCompound.putString("name", nation.name());
+                nationCompound.putLong("capital", nation.capital());
+                nationCompound.put("members", new LongArrayTag(nation.packedMembers()));
+                nationsListTag.add(nationCompound);
+            }
+
+            compound.putInt("version", FORMAT_VERSION);
+            compound.put("nations", nationsListTag);
+        }
     }
-}
\ No newline at end of file
+}
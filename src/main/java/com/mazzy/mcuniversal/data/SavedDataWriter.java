@@ -0,0 +1,148 @@
+package com.mazzy.mcuniversal.data;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mazzy.mcuniversal.McUniversal;
+import com.mazzy.mcuniversal.diagnostics.SavedDataSaveEvent;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.context.ParsedCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.event.CommandEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background writer for {@link AsyncSavedData} snapshots.
+ * A single thread serializes, compresses and writes the files, so writes of the same file
+ * land in the order they were submitted. Each file is written next to its target and moved
+ * over it, so a crash mid-write leaves the previous file intact.
+ * Pending writes are flushed by "save-all flush" and once the server has stopped. A failed
+ * write marks its data dirty again, so the state is retried by the next save.
+ */
+@Mod.EventBusSubscriber(modid = McUniversal.MODID)
+public class SavedDataWriter {
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("mcuniversal-saved-data").setDaemon(true).build()
+    );
+
+    // Upper bound on how long shutdown waits for queued writes
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    // Set by a "save-all flush" command until the end of the tick it ran in
+    private static boolean flushRequested;
+
+    /**
+     * Queues a snapshot to be written to the file
+     * @param data Data the snapshot was taken from, marked dirty again if the write fails
+     */
+    static void submit(AsyncSavedData data, File file, AsyncSavedData.Snapshot snapshot) {
+        WRITER.execute(() -> write(data, file.toPath(), snapshot));
+    }
+
+    /**
+     * Blocks until every write submitted so far is on disk, or the timeout runs out
+     */
+    public static void flush() {
+        try {
+            CompletableFuture.runAsync(() -> {}, WRITER).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            McUniversal.LOGGER.error("Saved data writes did not finish in time", e);
+        }
+    }
+
+    /**
+     * Compares the node the parsed command ends in with the "save-all flush" node, so
+     * execute wrappers and redirects are recognized and nothing is matched by its text.
+     */
+    @SubscribeEvent
+    public static void onCommand(CommandEvent event) {
+        ParseResults<CommandSourceStack> parse = event.getParseResults();
+        List<ParsedCommandNode<CommandSourceStack>> nodes = parse.getContext().getLastChild().getNodes();
+        if (nodes.isEmpty()) return;
+
+        CommandNode<CommandSourceStack> saveAll = parse.getContext().getRootNode().getChild("save-all");
+        CommandNode<CommandSourceStack> flush = saveAll != null ? saveAll.getChild("flush") : null;
+        if (flush != null && nodes.get(nodes.size() - 1).getNode() == flush) {
+            flushRequested = true;
+        }
+    }
+
+    /**
+     * Makes "save-all flush" wait for the mod's files too. Fired after the level's data storage
+     * was saved, so its snapshots are already queued. Autosaves do not wait.
+     */
+    @SubscribeEvent
+    public static void onLevelSave(LevelEvent.Save event) {
+        if (flushRequested) {
+            flush();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            flushRequested = false;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        // Levels are saved during shutdown, before this event, so their final writes are queued already
+        flush();
+    }
+
+    private static void write(AsyncSavedData data, Path target, AsyncSavedData.Snapshot snapshot) {
+        String dataName = data.getDataName();
+        SavedDataSaveEvent event = new SavedDataSaveEvent();
+        event.begin();
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            CompoundTag contents = new CompoundTag();
+            snapshot.write(contents);
+            CompoundTag root = new CompoundTag();
+            root.put("data", contents);
+            NbtUtils.addCurrentDataVersion(root);
+
+            NbtIo.writeCompressed(root, temp.toFile());
+            long bytes = Files.size(temp);
+            move(temp, target);
+            event.finish(dataName, SavedDataSaveEvent.STAGE_WRITE, snapshot.size(), bytes);
+        } catch (IOException | RuntimeException e) {
+            McUniversal.LOGGER.error("Could not save data {}", dataName, e);
+            // The file on disk is still the previous one, so the next save has to write this state again
+            MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+            if (server != null) {
+                server.execute(data::setDirty);
+            }
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
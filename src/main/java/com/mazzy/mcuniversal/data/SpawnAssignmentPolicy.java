@@ -0,0 +1,13 @@
+package com.mazzy.mcuniversal.data;
+
+/**
+ * How {@link ExtraSpawnsSavedData} picks the next free spawn for a player.
+ */
+public enum SpawnAssignmentPolicy {
+    /** First free spawn in the order spawns were added */
+    SEQUENTIAL,
+    /** Rotates through grid regions so consecutive players land in different areas */
+    SPREAD,
+    /** Free spawn closest to the player's nation capital, spread for players without one */
+    NEAR_CAPITAL
+}
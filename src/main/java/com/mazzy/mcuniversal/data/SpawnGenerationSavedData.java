@@ -0,0 +1,194 @@
+package com.mazzy.mcuniversal.data;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.saveddata.SavedData;
+
+/**
+ * Progress of the bulk spawn generation job for a dimension, so an unfinished job
+ * continues where it stopped after a restart.
+ * The job's region is split into cells of spacing x spacing chunks, one candidate chunk per
+ * cell, and candidates are visited in a fixed scattered order given by a stride through the
+ * cell indices. Progress is therefore just the number of candidates handed out.
+ * Only used from the server thread.
+ */
+public class SpawnGenerationSavedData extends SavedData {
+    // Persistent storage identifier
+    private static final String DATA_NAME = "mcuniversal_spawn_generation";
+
+    private boolean active;
+    private int target;
+    private int generated;
+    private int rejected;
+    private int centerChunkX;
+    private int centerChunkZ;
+    private int radiusChunks;
+    private int spacingChunks = 1;
+    private int nextCandidate;
+    // Derived from the region, not saved
+    private int side = 1;
+    private int stride = 1;
+
+    /**
+     * Gets or creates the generation progress for a dimension
+     * @param level Dimension the spawns are generated in
+     * @return Existing or fresh progress
+     */
+    public static SpawnGenerationSavedData get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(
+                SpawnGenerationSavedData::load,
+                SpawnGenerationSavedData::new,
+                DATA_NAME
+        );
+    }
+
+    public SpawnGenerationSavedData() {}
+
+    /**
+     * Loads job progress from NBT storage
+     * @param tag Contains the job region and counters
+     * @return Populated progress
+     */
+    public static SpawnGenerationSavedData load(CompoundTag tag) {
+        SpawnGenerationSavedData data = new SpawnGenerationSavedData();
+        data.active = tag.getBoolean("active");
+        data.target = tag.getInt("target");
+        data.generated = tag.getInt("generated");
+        data.rejected = tag.getInt("rejected");
+        data.centerChunkX = tag.getInt("centerChunkX");
+        data.centerChunkZ = tag.getInt("centerChunkZ");
+        data.radiusChunks = tag.getInt("radiusChunks");
+        data.spacingChunks = Math.max(1, tag.getInt("spacingChunks"));
+        data.nextCandidate = tag.getInt("nextCandidate");
+        data.updateLayout();
+        return data;
+    }
+
+    /**
+     * Saves job progress to NBT format
+     * @param compound Tag to write data into
+     * @return Modified compound with the job state
+     */
+    @Override
+    public CompoundTag save(CompoundTag compound) {
+        compound.putBoolean("active", active);
+        compound.putInt("target", target);
+        compound.putInt("generated", generated);
+        compound.putInt("rejected", rejected);
+        compound.putInt("centerChunkX", centerChunkX);
+        compound.putInt("centerChunkZ", centerChunkZ);
+        compound.putInt("radiusChunks", radiusChunks);
+        compound.putInt("spacingChunks", spacingChunks);
+        compound.putInt("nextCandidate", nextCandidate);
+        return compound;
+    }
+
+    /**
+     * Starts a new job, replacing any unfinished one
+     * @param target Spawns to add to the pool
+     * @param center Chunk at the centre of the region
+     * @param radiusChunks Half width of the square region in chunks
+     * @param spacingChunks Minimum distance between candidate chunks
+     */
+    public void start(int target, ChunkPos center, int radiusChunks, int spacingChunks) {
+        this.active = true;
+        this.target = target;
+        this.generated = 0;
+        this.rejected = 0;
+        this.centerChunkX = center.x;
+        this.centerChunkZ = center.z;
+        this.radiusChunks = radiusChunks;
+        this.spacingChunks = Math.max(1, spacingChunks);
+        this.nextCandidate = 0;
+        updateLayout();
+        setDirty();
+    }
+
+    public void stop() {
+        active = false;
+        setDirty();
+    }
+
+    /**
+     * Hands out the next candidate chunk
+     * @return Chunk to validate, or null once the region is exhausted
+     */
+    public ChunkPos nextCandidate() {
+        if (!hasCandidates()) return null;
+
+        // Multiplying by a stride coprime with the cell count visits every cell once, scattered
+        int cell = (int) ((long) nextCandidate * stride % getCandidateCount());
+        nextCandidate++;
+        setDirty();
+
+        int originX = centerChunkX - radiusChunks;
+        int originZ = centerChunkZ - radiusChunks;
+        return new ChunkPos(
+                originX + (cell % side) * spacingChunks + spacingChunks / 2,
+                originZ + (cell / side) * spacingChunks + spacingChunks / 2
+        );
+    }
+
+    public void recordGenerated() {
+        generated++;
+        setDirty();
+    }
+
+    public void recordRejected() {
+        rejected++;
+        setDirty();
+    }
+
+    /** @return True once enough spawns were added or every candidate was tried */
+    public boolean isComplete() {
+        return generated >= target || !hasCandidates();
+    }
+
+    public boolean hasCandidates() {
+        return nextCandidate < getCandidateCount();
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+    public int getGenerated() {
+        return generated;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public int getCandidatesTried() {
+        return nextCandidate;
+    }
+
+    public int getCandidateCount() {
+        return side * side;
+    }
+
+    private void updateLayout() {
+        side = Math.max(1, (2 * radiusChunks + 1) / spacingChunks);
+        int count = side * side;
+        // Golden ratio stride, nudged until it shares no factor with the cell count
+        stride = (int) (count * 0.6180339887) | 1;
+        while (gcd(stride, count) != 1) {
+            stride++;
+        }
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,239 @@
+package com.mazzy.mcuniversal.data;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Spatial index over the spawn pool of {@link ExtraSpawnsSavedData}.
+ * Spawns are bucketed into square cells by x/z. Cells that may still hold a free spawn are
+ * kept in an active list, which is rotated through for spread assignment. Nearest assignment
+ * searches outward from the target's cell, so neither walks the whole pool.
+ * Not persisted, rebuilt from the packed positions on first use.
+ */
+final class SpawnGrid {
+    // Cells are 256 blocks wide, a bit more than a 10 chunk view distance in both directions
+    private static final int CELL_SHIFT = 8;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    private static final class Cell {
+        final int cellX;
+        final int cellZ;
+        // Spawn indices in ascending order
+        int[] spawns = new int[4];
+        int size;
+        // Every spawn before this position is used
+        int cursor;
+        boolean active;
+
+        Cell(int cellX, int cellZ) {
+            this.cellX = cellX;
+            this.cellZ = cellZ;
+        }
+
+        /** @return First free spawn index in the cell, or -1 once all are used */
+        int nextFree(BitSet used) {
+            while (cursor < size && used.get(spawns[cursor])) {
+                cursor++;
+            }
+            return cursor < size ? spawns[cursor] : -1;
+        }
+
+        /** @return Squared horizontal distance from x/z to the nearest point of the cell */
+        long boxDistanceSq(int x, int z) {
+            long dx = axisDistance(x, cellX);
+            long dz = axisDistance(z, cellZ);
+            return dx * dx + dz * dz;
+        }
+
+        private static int axisDistance(int coord, int cell) {
+            int min = cell << CELL_SHIFT;
+            int max = min + CELL_SIZE - 1;
+            return coord < min ? min - coord : coord > max ? coord - max : 0;
+        }
+    }
+
+    private final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+    private final List<Cell> active = new ArrayList<>();
+    private int rotation;
+    // Bounds of every cell ever created, which limit how far a ring search can go
+    private int minCellX = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int minCellZ = Integer.MAX_VALUE;
+    private int maxCellZ = Integer.MIN_VALUE;
+
+    void add(int index, long packedPos) {
+        Cell cell = cellOf(packedPos);
+        if (cell.size == cell.spawns.length) {
+            cell.spawns = Arrays.copyOf(cell.spawns, cell.size * 2);
+        }
+        cell.spawns[cell.size++] = index;
+        activate(cell);
+    }
+
+    /** Makes a released spawn findable again */
+    void released(long packedPos) {
+        Cell cell = cellOf(packedPos);
+        cell.cursor = 0;
+        activate(cell);
+    }
+
+    /**
+     * Takes the next free spawn from the active cells in turn, so each region receives one
+     * player before any region receives another.
+     * @return Spawn index, or -1 if no spawn is free
+     */
+    int nextSpread(BitSet used) {
+        while (!active.isEmpty()) {
+            if (rotation >= active.size()) rotation = 0;
+            Cell cell = active.get(rotation);
+            int index = cell.nextFree(used);
+            if (index >= 0) {
+                rotation++;
+                return index;
+            }
+            deactivate(rotation);
+        }
+        return -1;
+    }
+
+    /**
+     * Lists the spawns {@link #nextSpread} would hand out next, one per active cell, without
+     * claiming them or advancing the rotation.
+     * @param consumer Receives up to limit spawn indices
+     */
+    void peekSpread(BitSet used, int limit, IntConsumer consumer) {
+        int size = active.size();
+        for (int i = 0, found = 0; i < size && found < limit; i++) {
+            int index = active.get((rotation + i) % size).nextFree(used);
+            if (index >= 0) {
+                consumer.accept(index);
+                found++;
+            }
+        }
+    }
+
+    /**
+     * Finds the free spawn closest to x/z horizontally.
+     * Cells are visited in square rings outward from the target's cell, stopping once a ring
+     * lies further away than the best spawn found. Once the rings have covered more cells
+     * than the grid holds, as for a target far outside the pool, the remaining search walks
+     * the active cells instead, skipping those whose nearest edge is too far.
+     * @return Spawn index, or -1 if no spawn is free
+     */
+    int nearest(BitSet used, long[] positions, int x, int z) {
+        if (active.isEmpty()) return -1;
+
+        Nearest best = new Nearest();
+        int centerX = x >> CELL_SHIFT;
+        int centerZ = z >> CELL_SHIFT;
+        long maxRing = Math.max(
+                Math.max((long) centerX - minCellX, (long) maxCellX - centerX),
+                Math.max((long) centerZ - minCellZ, (long) maxCellZ - centerZ)
+        );
+
+        long visited = 0;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every cell in this ring is at least ring - 1 whole cells away from the target
+            long ringDistance = (long) Math.max(ring - 1, 0) * CELL_SIZE;
+            if (ringDistance * ringDistance >= best.distance) break;
+
+            visited += ring == 0 ? 1 : 8L * ring;
+            if (visited > cells.size()) {
+                scanActive(used, positions, x, z, best);
+                break;
+            }
+
+            for (int d = -ring; d <= ring; d++) {
+                scanCell(centerX + d, centerZ - ring, used, positions, x, z, best);
+                if (ring > 0) {
+                    scanCell(centerX + d, centerZ + ring, used, positions, x, z, best);
+                }
+            }
+            for (int d = -ring + 1; d <= ring - 1; d++) {
+                scanCell(centerX - ring, centerZ + d, used, positions, x, z, best);
+                scanCell(centerX + ring, centerZ + d, used, positions, x, z, best);
+            }
+        }
+        return best.index;
+    }
+
+    /** Best spawn found so far by a nearest search */
+    private static final class Nearest {
+        int index = -1;
+        long distance = Long.MAX_VALUE;
+    }
+
+    private void scanCell(int cellX, int cellZ, BitSet used, long[] positions, int x, int z, Nearest best) {
+        Cell cell = cells.get(key(cellX, cellZ));
+        if (cell != null && cell.active) {
+            scanSpawns(cell, used, positions, x, z, best);
+        }
+    }
+
+    private void scanActive(BitSet used, long[] positions, int x, int z, Nearest best) {
+        for (int i = active.size() - 1; i >= 0; i--) {
+            Cell cell = active.get(i);
+            if (cell.nextFree(used) < 0) {
+                deactivate(i);
+                continue;
+            }
+            scanSpawns(cell, used, positions, x, z, best);
+        }
+    }
+
+    private static void scanSpawns(Cell cell, BitSet used, long[] positions, int x, int z, Nearest best) {
+        if (cell.nextFree(used) < 0 || cell.boxDistanceSq(x, z) >= best.distance) return;
+
+        for (int k = cell.cursor; k < cell.size; k++) {
+            int index = cell.spawns[k];
+            if (used.get(index)) continue;
+
+            long packed = positions[index];
+            long dx = BlockPos.getX(packed) - x;
+            long dz = BlockPos.getZ(packed) - z;
+            long distance = dx * dx + dz * dz;
+            if (distance < best.distance) {
+                best.distance = distance;
+                best.index = index;
+            }
+        }
+    }
+
+    private Cell cellOf(long packedPos) {
+        int cellX = BlockPos.getX(packedPos) >> CELL_SHIFT;
+        int cellZ = BlockPos.getZ(packedPos) >> CELL_SHIFT;
+        return cells.computeIfAbsent(key(cellX, cellZ), k -> {
+            minCellX = Math.min(minCellX, cellX);
+            maxCellX = Math.max(maxCellX, cellX);
+            minCellZ = Math.min(minCellZ, cellZ);
+            maxCellZ = Math.max(maxCellZ, cellZ);
+            return new Cell(cellX, cellZ);
+        });
+    }
+
+    private static long key(int cellX, int cellZ) {
+        return (long) cellX << 32 | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private void activate(Cell cell) {
+        if (cell.active) return;
+        cell.active = true;
+        active.add(cell);
+    }
+
+    /** Removes an exhausted cell by swapping in the last active cell */
+    private void deactivate(int position) {
+        Cell cell = active.get(position);
+        cell.active = false;
+        Cell last = active.remove(active.size() - 1);
+        if (last != cell) {
+            active.set(position, last);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.mazzy.mcuniversal.data;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * Per-dimension record of chunks already used as random teleport targets, and of chunks
+ * where no safe landing spot was found. Chunks are keyed by packed ChunkPos.toLong()
+ * so lookups stay O(1) without boxing.
+ * Lookups and updates are synchronized and may come from any thread, but {@link #get}
+ * must be called on the server thread.
+ */
+public class VisitedChunksSavedData extends AsyncSavedData {
+    // Persistent storage identifier
+    private static final String DATA_NAME = "mcuniversal_visited_chunks";
+
+    private final LongSet usedChunks = new LongOpenHashSet();
+    private final LongSet failedChunks = new LongOpenHashSet();
+
+    /**
+     * Gets or creates the visited chunk index for a dimension
+     * @param level Dimension whose index to load
+     * @return Existing or fresh index
+     */
+    public static VisitedChunksSavedData get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(
+                VisitedChunksSavedData::load,
+                VisitedChunksSavedData::new,
+                DATA_NAME
+        );
+    }
+
+    public VisitedChunksSavedData() {}
+
+    /**
+     * Loads the index from NBT storage
+     * @param tag Contains the packed chunk arrays
+     * @return Populated index
+     */
+    public static VisitedChunksSavedData load(CompoundTag tag) {
+        VisitedChunksSavedData data = new VisitedChunksSavedData();
+        for (long chunk : tag.getLongArray("used")) {
+            data.usedChunks.add(chunk);
+        }
+        for (long chunk : tag.getLongArray("failed")) {
+            data.failedChunks.add(chunk);
+        }
+        return data;
+    }
+
+    @Override
+    protected String getDataName() {
+        return DATA_NAME;
+    }
+
+    @Override
+    protected synchronized Snapshot snapshot() {
+        return new VisitedSnapshot(usedChunks.toLongArray(), failedChunks.toLongArray());
+    }
+
+    /** Saved layout: both chunk sets as packed long arrays */
+    private record VisitedSnapshot(long[] used, long[] failed) implements Snapshot {
+        @Override
+        public int size() {
+            return used.length + failed.length;
+        }
+
+        @Override
+        public void write(CompoundTag compound) {
+            compound.put("used", new LongArrayTag(used));
+            compound.put("failed", new LongArrayTag(failed));
+        }
+    }
+
+    /** @return True if the chunk was used before or is known to have no landing spot */
+    public synchronized boolean isKnown(long chunk) {
+        return usedChunks.contains(chunk) || failedChunks.contains(chunk);
+    }
+
+    /** Records a chunk picked as a teleport target */
+    public synchronized void markUsed(long chunk) {
+        if (usedChunks.add(chunk)) {
+            setDirty();
+        }
+    }
+
+    /** Records a chunk where the scan found no safe position */
+    public synchronized void markFailed(long chunk) {
+        usedChunks.remove(chunk);
+        if (failedChunks.add(chunk)) {
+            setDirty();
+        }
+    }
+
+    public synchronized int getUsedCount() {
+        return usedChunks.size();
+    }
+
+    public synchronized int getFailedCount() {
+        return failedChunks.size();
+    }
+}
@@ -0,0 +1,32 @@
+package com.mazzy.mcuniversal.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A chunk the mod requested from the chunk system, spanning from the request until the
+ * chunk reached the requested status back on the server thread.
+ */
+@Name("mcuniversal.ChunkLoad")
+@Label("Chunk Load")
+@Category({"McUniversal", "Teleport"})
+@Description("Chunk requested by the mod, from request until it reached the requested status")
+public class ChunkLoadEvent extends Event {
+    @Label("Dimension")
+    public String dimension;
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Requested Status")
+    public String status;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,52 @@
+package com.mazzy.mcuniversal.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One stage of saving one of the mod's SavedData files: the snapshot taken on the server
+ * thread, or the serialization and write done on the background writer.
+ */
+@Name("mcuniversal.SavedDataSave")
+@Label("Saved Data Save")
+@Category({"McUniversal", "Persistence"})
+@Description("Snapshot or background write of one of the mod's saved data files")
+public class SavedDataSaveEvent extends Event {
+    public static final String STAGE_SNAPSHOT = "snapshot";
+    public static final String STAGE_WRITE = "write";
+
+    @Label("Data Name")
+    public String dataName;
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Entries")
+    public int entries;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    /**
+     * Ends the event and commits it if the event type is being recorded
+     * @param dataName SavedData file name
+     * @param stage {@link #STAGE_SNAPSHOT} or {@link #STAGE_WRITE}
+     * @param entries Number of top level records saved
+     * @param bytes Compressed file size, 0 for the snapshot stage
+     */
+    public void finish(String dataName, String stage, int entries, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.dataName = dataName;
+            this.stage = stage;
+            this.entries = entries;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.mazzy.mcuniversal.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Assignment of a managed spawn point to a player on first login.
+ */
+@Name("mcuniversal.SpawnAssignment")
+@Label("Spawn Assignment")
+@Category({"McUniversal", "Spawns"})
+@Description("Assignment of a managed spawn point to a player on first login")
+public class SpawnAssignmentEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Policy")
+    public String policy;
+
+    @Label("Assigned")
+    public boolean assigned;
+
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Z")
+    public int z;
+}
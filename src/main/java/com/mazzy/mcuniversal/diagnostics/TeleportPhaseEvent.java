@@ -0,0 +1,38 @@
+package com.mazzy.mcuniversal.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Time a random teleport spent in one pipeline phase.
+ * Begun when the task enters the phase and committed when it leaves it.
+ */
+@Name("mcuniversal.TeleportPhase")
+@Label("Teleport Phase")
+@Category({"McUniversal", "Teleport"})
+@Description("Time a random teleport spent in one pipeline phase")
+public class TeleportPhaseEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Dimension")
+    public String dimension;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Target Chunk X")
+    public int chunkX;
+
+    @Label("Target Chunk Z")
+    public int chunkZ;
+
+    @Label("Retries")
+    public int retries;
+
+    @Label("Harsh Scan")
+    public boolean harshScan;
+}
@@ -1,6 +1,13 @@
 package com.mazzy.mcuniversal.event;
 
+import com.mazzy.mcuniversal.config.McUniversalConfig;
+import com.mazzy.mcuniversal.core.governor.WorkGovernor;
+import com.mazzy.mcuniversal.core.governor.WorkPriority;
+import com.mazzy.mcuniversal.core.teleport.SpawnPrewarmer;
 import com.mazzy.mcuniversal.data.ExtraSpawnsSavedData;
+import com.mazzy.mcuniversal.data.NationsSavedData;
+import com.mazzy.mcuniversal.data.SpawnAssignmentPolicy;
+import com.mazzy.mcuniversal.diagnostics.SpawnAssignmentEvent;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
@@ -25,6 +32,8 @@ public class PlayerSpawnHandler {
     private static final ResourceLocation EXTRA_DIM_ID = new ResourceLocation("mcuniversal", "extra");
     // Resource key for the custom dimension registration
     private static final ResourceKey<Level> EXTRA_DIM_KEY = ResourceKey.create(Registries.DIMENSION, EXTRA_DIM_ID);
+    // Set while an assigned player has not reached their spawn yet
+    private static final String SPAWN_PENDING_TAG = "extraDimSpawnPending";
 
     /**
      * Processes player logins to assign initial spawn points in the custom dimension.
@@ -36,6 +45,12 @@ public class PlayerSpawnHandler {
             return;
         }
 
+        // Finish an assignment whose move to the spawn was cut short by a logout
+        if (player.getPersistentData().getBoolean(SPAWN_PENDING_TAG)) {
+            resumePendingMove(player);
+            return;
+        }
+
         // Skip players already set to respawn in the custom dimension
         if (player.getRespawnDimension().location().equals(EXTRA_DIM_ID)) {
             return;
@@ -56,9 +71,31 @@ public class PlayerSpawnHandler {
             return;
         }
 
+        // Spawn assignment is never deferred, but it is accounted against the shared work budget
+        WorkGovernor.tryAcquire(WorkPriority.CRITICAL, WorkGovernor.COST_SPAWN_ASSIGNMENT);
+
+        SpawnAssignmentEvent assignmentEvent = new SpawnAssignmentEvent();
+        assignmentEvent.begin();
+
         // Claim a spawn point from managed spawn data
+        SpawnAssignmentPolicy policy = McUniversalConfig.SPAWN_ASSIGNMENT_POLICY.get();
+        BlockPos capital = policy == SpawnAssignmentPolicy.NEAR_CAPITAL ? getNationCapital(player) : null;
         ExtraSpawnsSavedData spawnsData = ExtraSpawnsSavedData.get(extraDimension);
-        ExtraSpawnsSavedData.SpawnEntry entry = spawnsData.claimFreeSpawn();
+        ExtraSpawnsSavedData.SpawnEntry entry = spawnsData.claimFreeSpawn(policy, capital);
+
+        assignmentEvent.end();
+        if (assignmentEvent.shouldCommit()) {
+            assignmentEvent.player = player.getGameProfile().getName();
+            assignmentEvent.policy = policy.name();
+            assignmentEvent.assigned = entry != null;
+            if (entry != null) {
+                assignmentEvent.x = entry.x;
+                assignmentEvent.y = entry.y;
+                assignmentEvent.z = entry.z;
+            }
+            assignmentEvent.commit();
+        }
+
         if (entry == null) {
             player.sendSystemMessage(
                     Component.literal("No free spawns left in the Extra dimension.")
@@ -76,18 +113,9 @@ public class PlayerSpawnHandler {
                 false  // Don't show respawn animation
         );
 
-        // Teleport player to new spawn location with center-block alignment
-        player.teleportTo(
-                extraDimension,
-                entry.x + 0.5,  // Center of block X
-                entry.y + 0.1,  // Slightly above block Y to prevent clipping
-                entry.z + 0.5,  // Center of block Z
-                player.getYRot(),
-                player.getXRot()
-        );
-
-        // Mark player as having received a spawn assignment
+        // Mark player as having received a spawn assignment, the move itself may finish later
         persistentData.putBoolean("extraDimSpawnAssigned", true);
+        persistentData.putBoolean(SPAWN_PENDING_TAG, true);
 
         // Notify player of their new spawn coordinates
         player.sendSystemMessage(
@@ -96,5 +124,43 @@ public class PlayerSpawnHandler {
                                 spawnPos.getX() + " " + spawnPos.getY() + " " + spawnPos.getZ()
                 )
         );
+
+        moveToSpawn(player, extraDimension, spawnPos);
+    }
+
+    /**
+     * Teleports the player to their assigned spawn once its chunk is loaded. Until then the
+     * player stays where they logged in, so the login never waits on terrain generation.
+     */
+    private static void moveToSpawn(ServerPlayer player, ServerLevel extraDimension, BlockPos spawnPos) {
+        SpawnPrewarmer.teleportWhenReady(player, extraDimension, spawnPos,
+                () -> player.getPersistentData().remove(SPAWN_PENDING_TAG));
+
+        if (SpawnPrewarmer.isPending(player)) {
+            player.sendSystemMessage(Component.literal("Preparing your spawn area..."));
+        }
+    }
+
+    /**
+     * Finishes a move to the assigned spawn that was interrupted by a logout
+     */
+    private static void resumePendingMove(ServerPlayer player) {
+        ServerLevel extraDimension = player.server.getLevel(EXTRA_DIM_KEY);
+        BlockPos spawnPos = player.getRespawnPosition();
+        if (extraDimension == null || spawnPos == null || !player.getRespawnDimension().equals(EXTRA_DIM_KEY)) {
+            // The spawn was changed or lost in the meantime, there is nothing left to move to
+            player.getPersistentData().remove(SPAWN_PENDING_TAG);
+            return;
+        }
+        moveToSpawn(player, extraDimension, spawnPos);
+    }
+
+    /**
+     * Looks up the capital of the player's nation, read from the same level's data as nation chat
+     * @return Capital position, or null if the player has no nation
+     */
+    private static BlockPos getNationCapital(ServerPlayer player) {
+        NationsSavedData.NationEntry nation = NationsSavedData.get(player.serverLevel()).getNationByMember(player.getUUID());
+        return nation != null ? nation.getCapital() : null;
     }
-}
\ No newline at end of file
+}
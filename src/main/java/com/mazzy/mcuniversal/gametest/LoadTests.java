@@ -0,0 +1,271 @@
+package com.mazzy.mcuniversal.gametest;
+
+import com.mazzy.mcuniversal.McUniversal;
+import com.mazzy.mcuniversal.config.teleport.TeleportConstants;
+import com.mazzy.mcuniversal.core.metrics.TeleportMetrics;
+import com.mazzy.mcuniversal.core.teleport.TeleportManager;
+import com.mazzy.mcuniversal.core.teleport.TeleportTicketManager;
+import com.mazzy.mcuniversal.data.ExtraSpawnsSavedData;
+import com.mazzy.mcuniversal.data.NationsSavedData;
+import com.mazzy.mcuniversal.network.DimensionalAmuletActionPacket;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestAssertException;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.ServerChatEvent;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Load tests run by the gameTestServer run configuration.
+ * Each test drives a storm of mock players through one of the mod's entry points and
+ * fails as soon as tick time, mod-owned chunk tickets or chunk loads pass their limit.
+ * Sizes and limits come from system properties set on the run in build.gradle.
+ * Every test has its own batch so the storms never overlap.
+ */
+@GameTestHolder(McUniversal.MODID)
+@PrefixGameTestTemplate(false)
+public class LoadTests {
+    private static final int PLAYERS = Integer.getInteger("mcuniversal.loadtest.players", 24);
+    private static final int CHAT_MESSAGES_PER_PLAYER = Integer.getInteger("mcuniversal.loadtest.chatMessagesPerPlayer", 20);
+    private static final double MAX_MSPT = Double.parseDouble(System.getProperty("mcuniversal.loadtest.maxMspt", "50"));
+    private static final int MAX_TICKETS = Integer.getInteger("mcuniversal.loadtest.maxTickets", 1500);
+    private static final long MAX_CHUNK_LOADS = Long.getLong("mcuniversal.loadtest.maxChunkLoads", 4000L);
+    private static final long MAX_CHAT_MICROS = Long.getLong("mcuniversal.loadtest.maxChatMicros", 200L);
+
+    // Ticks the server gets to settle after the storm is set up before tick time counts
+    private static final int SETTLE_TICKS = 20;
+    private static final int RTP_TIMEOUT_TICKS = 20 * 150;
+    private static final int LOGIN_TIMEOUT_TICKS = 20 * 60;
+    // Storms give up this long before the framework's timeout, so they can still clean up
+    private static final int CLEANUP_MARGIN_TICKS = 20;
+
+    /** Random teleports for every player at once, half to the overworld and half to the extra dimension */
+    @GameTest(template = "empty", batch = "load_rtp", timeoutTicks = RTP_TIMEOUT_TICKS)
+    public static void rtpStorm(GameTestHelper helper) {
+        LoadRecorder recorder = new LoadRecorder(helper.getLevel().getServer());
+        long completedAtStart = countOutcomes(TeleportMetrics.Outcome.COMPLETED);
+        List<ServerPlayer> players = spawnPlayers(helper, PLAYERS);
+
+        for (int i = 0; i < players.size(); i++) {
+            if (i % 2 == 0) {
+                DimensionalAmuletActionPacket.dispatch(players.get(i), DimensionalAmuletActionPacket.Action.RAND_WARP, "");
+            } else {
+                DimensionalAmuletActionPacket.dispatch(players.get(i), DimensionalAmuletActionPacket.Action.RANDOM_TP_DIM,
+                        TeleportConstants.EARTH_DIM_LOCATION.toString());
+            }
+        }
+
+        checkEachTick(helper, recorder, "rtpStorm", RTP_TIMEOUT_TICKS, () -> {
+            long running = players.stream().filter(p -> TeleportManager.ACTIVE_TELEPORTS.containsKey(p.getUUID())).count();
+            if (running > 0) {
+                return running + " teleports still running";
+            }
+
+            long completed = countOutcomes(TeleportMetrics.Outcome.COMPLETED) - completedAtStart;
+            if (completed != players.size()) {
+                throw new GameTestAssertException(completed + " of " + players.size() + " teleports completed");
+            }
+            return null;
+        }, () -> removePlayers(helper, players));
+    }
+
+    /** First logins of a batch of players, each claiming a managed spawn */
+    @GameTest(template = "empty", batch = "load_login", timeoutTicks = LOGIN_TIMEOUT_TICKS)
+    public static void loginStorm(GameTestHelper helper) {
+        MinecraftServer server = helper.getLevel().getServer();
+        ServerLevel extra = server.getLevel(TeleportConstants.EARTH_DIM_KEY);
+        if (extra == null) {
+            helper.fail("Extra dimension is not loaded");
+            return;
+        }
+
+        ExtraSpawnsSavedData spawns = ExtraSpawnsSavedData.get(extra);
+        int firstTestSpawn = spawns.getSpawnCount();
+        for (int i = 0; i < PLAYERS; i++) {
+            spawns.addSpawn(new BlockPos(i * 32, 100, 0));
+        }
+
+        LoadRecorder recorder = new LoadRecorder(server);
+        List<ServerPlayer> players = spawnPlayers(helper, PLAYERS);
+
+        checkEachTick(helper, recorder, "loginStorm", LOGIN_TIMEOUT_TICKS, () -> {
+            for (ServerPlayer player : players) {
+                if (!player.getPersistentData().getBoolean("extraDimSpawnAssigned")) {
+                    return player.getGameProfile().getName() + " has no spawn yet";
+                }
+                if (!player.getRespawnDimension().equals(TeleportConstants.EARTH_DIM_KEY)) {
+                    throw new GameTestAssertException(player.getGameProfile().getName() + " respawns in " +
+                            player.getRespawnDimension().location());
+                }
+                // Spawn chunks load off the login path, so arrival can trail the assignment
+                if (!player.level().dimension().equals(TeleportConstants.EARTH_DIM_KEY)) {
+                    return player.getGameProfile().getName() + " has not reached the spawn yet";
+                }
+            }
+            return null;
+        }, () -> {
+            // Players may have been handed spawns that were in the pool before the test
+            for (ServerPlayer player : players) {
+                BlockPos respawn = player.getRespawnPosition();
+                if (respawn != null && player.getRespawnDimension().equals(TeleportConstants.EARTH_DIM_KEY)) {
+                    spawns.releaseSpawnAt(respawn);
+                }
+            }
+            spawns.truncate(firstTestSpawn);
+            removePlayers(helper, players);
+        });
+    }
+
+    /** Every player of a nation chatting in the same tick, which runs the member lookup per message */
+    @GameTest(template = "empty", batch = "load_chat", timeoutTicks = 20 * 30)
+    public static void chatStorm(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        List<ServerPlayer> players = spawnPlayers(helper, PLAYERS);
+        NationsSavedData nations = NationsSavedData.get(level);
+        List<UUID> created = new ArrayList<>();
+
+        int messages = 0;
+        long micros;
+        try {
+            // Filler nations keep the member index from being trivially small
+            for (int i = 0; i < 50; i++) {
+                created.add(nations.createNation("filler" + i, BlockPos.ZERO, List.of(UUID.randomUUID())));
+            }
+            List<UUID> members = players.stream().map(ServerPlayer::getUUID).toList();
+            created.add(nations.createNation("loadtest", BlockPos.ZERO, members));
+
+            long start = System.nanoTime();
+            for (int round = 0; round < CHAT_MESSAGES_PER_PLAYER; round++) {
+                for (ServerPlayer player : players) {
+                    String text = "message " + round;
+                    MinecraftForge.EVENT_BUS.post(new ServerChatEvent(player, text, Component.literal(text)));
+                    messages++;
+                }
+            }
+            micros = (System.nanoTime() - start) / 1000 / Math.max(messages, 1);
+        } finally {
+            created.forEach(nations::removeNation);
+            removePlayers(helper, players);
+        }
+
+        McUniversal.LOGGER.info("Load test chatStorm: {} messages, {} us per message", messages, micros);
+        if (micros > MAX_CHAT_MICROS) {
+            helper.fail("Chat handling took " + micros + " us per message, limit is " + MAX_CHAT_MICROS);
+            return;
+        }
+        helper.succeed();
+    }
+
+    private static List<ServerPlayer> spawnPlayers(GameTestHelper helper, int count) {
+        List<ServerPlayer> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(helper.makeMockServerPlayerInLevel());
+        }
+        return players;
+    }
+
+    /**
+     * Samples the recorder every tick and succeeds once pending returns null. Checked this way
+     * rather than through succeedWhen, which would keep waiting out a definite failure.
+     * Cleanup runs before the test ends either way, and the test gives up shortly before the
+     * framework's timeout so a stuck storm still cleans up.
+     * @param pending Returns what the test is still waiting for, or null once done, and throws on failure
+     */
+    private static void checkEachTick(GameTestHelper helper, LoadRecorder recorder, String test, int timeoutTicks,
+                                      Supplier<String> pending, Runnable cleanup) {
+        helper.onEachTick(() -> {
+            try {
+                recorder.sample();
+
+                String waitingFor = pending.get();
+                if (waitingFor != null) {
+                    if (recorder.ticks >= timeoutTicks - CLEANUP_MARGIN_TICKS) {
+                        throw new GameTestAssertException(waitingFor);
+                    }
+                    return;
+                }
+            } catch (RuntimeException e) {
+                cleanup.run();
+                throw e;
+            }
+
+            recorder.report(test);
+            cleanup.run();
+            helper.succeed();
+        });
+    }
+
+    private static long countOutcomes(TeleportMetrics.Outcome outcome) {
+        long total = 0;
+        for (ResourceKey<Level> dimension : TeleportMetrics.getDimensions()) {
+            total += TeleportMetrics.get(dimension).getOutcomeCount(outcome);
+        }
+        return total;
+    }
+
+    private static void removePlayers(GameTestHelper helper, List<ServerPlayer> players) {
+        for (ServerPlayer player : players) {
+            helper.getLevel().getServer().getPlayerList().remove(player);
+        }
+    }
+
+    /** Tracks peak tick time, mod-owned tickets and chunk loads while a test runs */
+    private static class LoadRecorder {
+        private final MinecraftServer server;
+        private final long chunkLoadsAtStart;
+        private int ticks;
+        private double peakMspt;
+        private int peakTickets;
+
+        LoadRecorder(MinecraftServer server) {
+            this.server = server;
+            this.chunkLoadsAtStart = countChunkLoads();
+        }
+
+        void sample() {
+            int tickets = TeleportTicketManager.getLiveTicketCount();
+            peakTickets = Math.max(peakTickets, tickets);
+            if (tickets > MAX_TICKETS) {
+                throw new GameTestAssertException(tickets + " teleport tickets held, limit is " + MAX_TICKETS);
+            }
+
+            long chunkLoads = countChunkLoads() - chunkLoadsAtStart;
+            if (chunkLoads > MAX_CHUNK_LOADS) {
+                throw new GameTestAssertException(chunkLoads + " chunk loads, limit is " + MAX_CHUNK_LOADS);
+            }
+
+            if (++ticks <= SETTLE_TICKS) return;
+            double mspt = server.getAverageTickTime();
+            peakMspt = Math.max(peakMspt, mspt);
+            if (mspt > MAX_MSPT) {
+                throw new GameTestAssertException(String.format("Average tick time %.1f ms, limit is %.1f ms", mspt, MAX_MSPT));
+            }
+        }
+
+        void report(String test) {
+            McUniversal.LOGGER.info("Load test {}: peak {} ms/tick, peak {} tickets, {} chunk loads over {} ticks",
+                    test, String.format("%.1f", peakMspt), peakTickets, countChunkLoads() - chunkLoadsAtStart, ticks);
+        }
+
+        private static long countChunkLoads() {
+            long total = 0;
+            for (ResourceKey<Level> dimension : TeleportMetrics.getDimensions()) {
+                total += TeleportMetrics.get(dimension).chunkRequests.sum();
+            }
+            return total;
+        }
+    }
+}
@@ -34,17 +34,25 @@ public class DimensionalAmuletActionPacket {
             ServerPlayer player = ctx.getSender();
             if (player == null) return;
 
-            CompoundTag pData = player.getPersistentData();
-            MinecraftServer server = player.getServer();
-            if (server == null) return;
-
-            switch (packet.action) {
-                case SET_HOME -> AmuletActionHandlers.handleSetHome(player, pData, server);
-                case TELEPORT_HOME -> AmuletActionHandlers.handleTeleportHome(player, pData, server);
-                case RAND_WARP -> AmuletActionHandlers.handleRandWarp(player, server);
-                case RANDOM_TP_DIM -> AmuletActionHandlers.handleRandomTpDim(player, server, packet.data);
-            }
+            dispatch(player, packet.action, packet.data);
         });
         ctx.setPacketHandled(true);
     }
+
+    /**
+     * Runs an amulet action for a player, as if the packet had been received.
+     * Must be called on the server thread.
+     */
+    public static void dispatch(ServerPlayer player, Action action, String data) {
+        CompoundTag pData = player.getPersistentData();
+        MinecraftServer server = player.getServer();
+        if (server == null) return;
+
+        switch (action) {
+            case SET_HOME -> AmuletActionHandlers.handleSetHome(player, pData, server);
+            case TELEPORT_HOME -> AmuletActionHandlers.handleTeleportHome(player, pData, server);
+            case RAND_WARP -> AmuletActionHandlers.handleRandWarp(player, server);
+            case RANDOM_TP_DIM -> AmuletActionHandlers.handleRandomTpDim(player, server, data);
+        }
+    }
 }
\ No newline at end of file
@@ -16,8 +16,8 @@ import java.util.List;
  */
 public class NetworkHandler {
 
-    // Network protocol version for compatibility checking
-    private static final String PROTOCOL_VERSION = "1";
+    // Network protocol version for compatibility checking, bump whenever a packet is added or changed
+    private static final String PROTOCOL_VERSION = "2";
 
     /**
      * Main network channel instance configured with:
@@ -72,6 +72,15 @@ public class NetworkHandler {
                 SyncDimensionalDataPacket::decode,
                 SyncDimensionalDataPacket::handle
         );
+
+        // Teleport HUD progress packet
+        CHANNEL.registerMessage(
+                packetId++,
+                TeleportHudPacket.class,
+                TeleportHudPacket::encode,
+                TeleportHudPacket::decode,
+                TeleportHudPacket::handle
+        );
     }
 
     /** Sends a packet to a specific player (server -> client) */
@@ -79,6 +88,11 @@ public class NetworkHandler {
         CHANNEL.sendTo(message, player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
     }
 
+    /** @return True if the player's client has this mod's channel, and can take mod packets */
+    public static boolean hasModChannel(ServerPlayer player) {
+        return player.connection != null && CHANNEL.isRemotePresent(player.connection.connection);
+    }
+
     /** Sends a packet to the server (client -> server) */
     public static void sendToServer(Object message) {
         CHANNEL.sendToServer(message);
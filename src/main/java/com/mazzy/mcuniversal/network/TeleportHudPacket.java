@@ -0,0 +1,68 @@
+package com.mazzy.mcuniversal.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Compact teleport progress update rendered by the client HUD overlay.
+ * Replaces the boss bar for clients that have the mod installed; the server only
+ * sends it when one of the displayed values changes.
+ */
+public class TeleportHudPacket {
+    public enum Phase { HIDDEN, QUEUED, INITIALIZING, SCANNING, PREPARING }
+
+    private final Phase phase;
+    /** Progress in steps of {@link #PROGRESS_SCALE} */
+    private final int progress;
+    /** Queue position while QUEUED, seconds until the warp while PREPARING, otherwise 0 */
+    private final int value;
+
+    public static final int PROGRESS_SCALE = 100;
+
+    public TeleportHudPacket(Phase phase, int progress, int value) {
+        this.phase = phase;
+        this.progress = progress;
+        this.value = value;
+    }
+
+    /** Serializes packet data for network transmission */
+    public static void encode(TeleportHudPacket packet, FriendlyByteBuf buf) {
+        buf.writeByte(packet.phase.ordinal());
+        buf.writeByte(packet.progress);
+        buf.writeVarInt(packet.value);
+    }
+
+    /** Deserializes packet data from network transmission */
+    public static TeleportHudPacket decode(FriendlyByteBuf buf) {
+        int ordinal = buf.readUnsignedByte();
+        // An unknown phase hides the HUD rather than failing the connection
+        Phase phase = ordinal < Phase.values().length ? Phase.values()[ordinal] : Phase.HIDDEN;
+        return new TeleportHudPacket(phase, buf.readUnsignedByte(), buf.readVarInt());
+    }
+
+    /** Handles packet reception on client-side */
+    public static void handle(TeleportHudPacket packet, Supplier<NetworkEvent.Context> ctxSupplier) {
+        NetworkEvent.Context ctx = ctxSupplier.get();
+        ctx.enqueueWork(() -> {
+            // Only process on client side
+            if (ctx.getDirection().getReceptionSide().isClient()) {
+                ClientHandler.handle(packet);
+            }
+        });
+        ctx.setPacketHandled(true);
+    }
+
+    /**
+     * Client-side handler, keeps the overlay class out of the dedicated server
+     */
+    @OnlyIn(Dist.CLIENT)
+    private static class ClientHandler {
+        private static void handle(TeleportHudPacket packet) {
+            com.mazzy.mcuniversal.core.client.TeleportHudOverlay.update(packet.phase, packet.progress, packet.value);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.mazzy.mcuniversal.McUniversal;
 import com.mazzy.mcuniversal.core.command.TestCommand;
 import com.mazzy.mcuniversal.core.command.ExtraSpawnCommand;
 import com.mazzy.mcuniversal.core.command.CheckExtraSpawnCommand;
+import com.mazzy.mcuniversal.core.command.GenerateSpawnsCommand;
+import com.mazzy.mcuniversal.core.command.McUniversalCommand;
 // Import your new command class
 import com.mazzy.mcuniversal.core.command.RTPDimensionCommands;
 
@@ -22,6 +24,8 @@ public class CommandRegistry {
         TestCommand.register(dispatcher);
         dispatcher.register(ExtraSpawnCommand.register());
         dispatcher.register(CheckExtraSpawnCommand.register());
+        dispatcher.register(GenerateSpawnsCommand.register());
+        dispatcher.register(McUniversalCommand.register());
 
         // Register the commands for locking/unlocking RTP dimensions
         RTPDimensionCommands.registerCommands(dispatcher);